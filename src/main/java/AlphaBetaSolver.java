@@ -0,0 +1,185 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A bounded-depth alpha-beta searcher for evaluating small endgames exactly.
+ *
+ * Random playouts are slow and noisy once few pieces remain, so
+ * {@link MCTSDraughtsSearcher} can hand such positions to this solver
+ * instead (see {@link MCTSDraughtsSearcher#setLeafSolver(AlphaBetaSolver, int)}).
+ * Positions where a player runs out of moves within the depth limit are
+ * scored exactly; others fall back to {@link StaticEvaluator#materialBalance(GameState)}.
+ *
+ * Each solver keeps its own fixed-size transposition table keyed on
+ * {@link CanonicalPosition}s, so it must not be shared between threads.
+ */
+public class AlphaBetaSolver {
+
+    /** Score of a position won on the spot. Wins found deeper score slightly less. */
+    public static final int WIN_SCORE = 100_000;
+    private static final int PROVEN_THRESHOLD = WIN_SCORE - 1_000;
+
+    private static final byte EXACT = 0;
+    private static final byte LOWER_BOUND = 1;
+    private static final byte UPPER_BOUND = 2;
+
+    private final int maxDepth;
+    private final int tableMask;
+    private final int[] tableWhite;
+    private final int[] tableBlack;
+    private final int[] tableKings;
+    private final int[] tableScore;
+    private final byte[] tableDepth;
+    private final byte[] tableFlag;
+    private long nodes;
+
+    /**
+     * Constructs an AlphaBetaSolver.
+     *
+     * @param maxDepth Maximum search depth in plies.
+     * @param tableSizeLog2 Base-2 logarithm of the number of transposition table entries.
+     */
+    public AlphaBetaSolver(int maxDepth, int tableSizeLog2) {
+        if (maxDepth < 1 || maxDepth > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("maxDepth must be in the range 1-127");
+        }
+        if (tableSizeLog2 < 0 || tableSizeLog2 > 26) {
+            throw new IllegalArgumentException("tableSizeLog2 must be in the range 0-26");
+        }
+        this.maxDepth = maxDepth;
+        int size = 1 << tableSizeLog2;
+        this.tableMask = size - 1;
+        this.tableWhite = new int[size];
+        this.tableBlack = new int[size];
+        this.tableKings = new int[size];
+        this.tableScore = new int[size];
+        this.tableDepth = new byte[size];
+        this.tableFlag = new byte[size];
+        // Depth -1 marks an empty slot.
+        Arrays.fill(tableDepth, (byte) -1);
+    }
+
+    /**
+     * Searches a position to the solver's depth limit.
+     *
+     * @param gameState Position to search.
+     * @return Score for the active player. See {@link #isProvenWin(int)},
+     *         {@link #isProvenLoss(int)}, and {@link #toWinProbability(int)}.
+     */
+    public int search(GameState gameState) {
+        return negamax(new GameState(gameState), maxDepth, -WIN_SCORE - 1, WIN_SCORE + 1, 0);
+    }
+
+    /**
+     * Checks if a score means the active player wins by force.
+     *
+     * @param score A score from {@link #search(GameState)}.
+     * @return Whether the win was proven within the depth limit.
+     */
+    public static boolean isProvenWin(int score) {
+        return score >= PROVEN_THRESHOLD;
+    }
+
+    /**
+     * Checks if a score means the active player loses by force.
+     *
+     * @param score A score from {@link #search(GameState)}.
+     * @return Whether the loss was proven within the depth limit.
+     */
+    public static boolean isProvenLoss(int score) {
+        return score <= -PROVEN_THRESHOLD;
+    }
+
+    /**
+     * Converts a score into a playout-style outcome.
+     *
+     * @param score A score from {@link #search(GameState)}.
+     * @return 1 or 0 for proven wins and losses, and a logistic function of
+     *         the material balance otherwise.
+     */
+    public static double toWinProbability(int score) {
+        if (isProvenWin(score)) { return 1.0; }
+        if (isProvenLoss(score)) { return 0.0; }
+        return 1.0 / (1.0 + Math.exp(-score / 150.0));
+    }
+
+    /**
+     * Gets the number of positions visited by this solver.
+     *
+     * @return Total nodes searched across all calls to {@link #search(GameState)}.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    private int negamax(GameState gameState, int depth, int alpha, int beta, int ply) {
+        nodes++;
+        List<Move> moves = gameState.generateLegalMoves();
+        if (moves.isEmpty()) {
+            // Prefer quicker wins and slower losses.
+            return -(WIN_SCORE - ply);
+        }
+        if (depth == 0) {
+            return StaticEvaluator.materialBalance(gameState);
+        }
+
+        CanonicalPosition key = CanonicalPosition.of(gameState);
+        int slot = key.hashCode() & tableMask;
+        boolean hit = tableDepth[slot] >= depth && tableWhite[slot] == key.getWhitePieces()
+                && tableBlack[slot] == key.getBlackPieces() && tableKings[slot] == key.getKings();
+        if (hit) {
+            int score = fromTable(tableScore[slot], ply);
+            if (tableFlag[slot] == EXACT) {
+                return score;
+            } else if (tableFlag[slot] == LOWER_BOUND) {
+                alpha = Math.max(alpha, score);
+            } else {
+                beta = Math.min(beta, score);
+            }
+            if (alpha >= beta) {
+                return score;
+            }
+        }
+
+        int originalAlpha = alpha;
+        int best = -WIN_SCORE - 1;
+        for (Move move : moves) {
+            GameState child = new GameState(gameState);
+            child.makeMove(move);
+            child.swapActivePlayer();
+            int score = -negamax(child, depth - 1, -beta, -alpha, ply + 1);
+            if (score > best) {
+                best = score;
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        // Always replace, which keeps the table simple and favors recent positions.
+        tableWhite[slot] = key.getWhitePieces();
+        tableBlack[slot] = key.getBlackPieces();
+        tableKings[slot] = key.getKings();
+        tableScore[slot] = toTable(best, ply);
+        tableDepth[slot] = (byte) depth;
+        tableFlag[slot] = best <= originalAlpha ? UPPER_BOUND : (best >= beta ? LOWER_BOUND : EXACT);
+        return best;
+    }
+
+    // Proven scores depend on the distance from the root, so the table stores
+    // them relative to the position they belong to.
+    private static int toTable(int score, int ply) {
+        if (isProvenWin(score)) { return score + ply; }
+        if (isProvenLoss(score)) { return score - ply; }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (isProvenWin(score)) { return score - ply; }
+        if (isProvenLoss(score)) { return score + ply; }
+        return score;
+    }
+}
@@ -0,0 +1,236 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A size-bounded cache of analysis results, keyed by position.
+ *
+ * Positions are keyed by {@link CanonicalPosition}, so a position and its
+ * color-swapped mirror image share an entry; moves are stored in the
+ * canonical orientation and mapped back on lookup. When the cache is full
+ * the least recently used entry is evicted. A position analyzed again with
+ * a larger budget can resume from the cached statistics with
+ * {@link #resume(GameState, CachedAnalysis, double)} instead of starting over.
+ *
+ * All methods are thread-safe.
+ */
+public class AnalysisCache {
+
+    private static final int MAGIC = 0x4D435443; // "MCTC"
+    private static final int VERSION = 1;
+    private static final ProofStatus[] PROOF_STATUSES = ProofStatus.values();
+
+    private final int maxEntries;
+    private final LinkedHashMap<CanonicalPosition, CachedAnalysis> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs an empty AnalysisCache.
+     *
+     * @param maxEntries Maximum number of positions to keep.
+     */
+    public AnalysisCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be >=1");
+        }
+        this.maxEntries = maxEntries;
+        // Access order makes the eldest entry the least recently used one.
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CanonicalPosition, CachedAnalysis> eldest) {
+                return size() > AnalysisCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Looks up the analysis of a position.
+     *
+     * @param gameState Position to look up.
+     * @return The cached analysis with moves for this position, or null if there is none.
+     */
+    public synchronized CachedAnalysis get(GameState gameState) {
+        CanonicalPosition key = CanonicalPosition.of(gameState);
+        CachedAnalysis analysis = entries.get(key);
+        if (analysis == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return transform(analysis, key);
+    }
+
+    /**
+     * Stores the analysis of a position, unless a larger budget was already spent on it.
+     *
+     * @param gameState Analyzed position.
+     * @param analysis Analysis with moves for this position.
+     */
+    public synchronized void put(GameState gameState, CachedAnalysis analysis) {
+        CanonicalPosition key = CanonicalPosition.of(gameState);
+        CachedAnalysis existing = entries.get(key);
+        if (existing == null || existing.getSearchMillis() <= analysis.getSearchMillis()) {
+            entries.put(key, transform(analysis, key));
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Creates a searcher whose root starts with cached statistics.
+     *
+     * The root is expanded with one child per legal move, each holding the
+     * cached visits, value, and proof status for that move, so further
+     * search continues to refine the cached result rather than starting
+     * over. If the cached proofs solve the position, so does the root.
+     *
+     * @param gameState Position to search.
+     * @param analysis Cached analysis of that position.
+     * @param explorationParameter Exploration parameter for the new searcher.
+     * @return A searcher seeded with the cached statistics.
+     */
+    public static MCTSDraughtsSearcher resume(GameState gameState, CachedAnalysis analysis,
+                                              double explorationParameter) {
+        MCTSNode root = new MCTSNode(0, 0, null, new ArrayList<>(), new GameState(gameState));
+        int rootVisits = 0;
+        double rootValue = 0;
+        boolean anyWon = false;
+        boolean allLost = true;
+        for (Move move : gameState.generateLegalMoves()) {
+            GameState childState = new GameState(gameState);
+            childState.makeMove(move);
+            childState.swapActivePlayer();
+            MCTSNode child = new MCTSNode(0, 0, root, new ArrayList<>(), childState).setMove(move);
+            MoveStatistics statistics = analysis.getStatistics(move);
+            if (statistics != null) {
+                child.setVisits(statistics.getVisits()).setValue(statistics.getValue())
+                        .setProofStatus(statistics.getProofStatus());
+                rootVisits += statistics.getVisits();
+                rootValue += statistics.getVisits() - statistics.getValue();
+            }
+            root.addChild(child);
+            anyWon |= child.getProofStatus() == ProofStatus.WIN;
+            allLost &= child.getProofStatus() == ProofStatus.LOSS;
+        }
+        root.setVisits(rootVisits).setValue(rootValue);
+        // Proofs are from the perspective of the player who moved into a node.
+        if (anyWon) {
+            root.setProofStatus(ProofStatus.LOSS);
+        } else if (allLost && !(root.isLeaf())) {
+            root.setProofStatus(ProofStatus.WIN);
+        }
+        return new MCTSDraughtsSearcher(root, explorationParameter);
+    }
+
+    /**
+     * Writes every entry to a file, least recently used first.
+     *
+     * @throws IOException the file couldn't be written.
+     * @param path File to write.
+     */
+    public synchronized void save(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path),
+                1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<CanonicalPosition, CachedAnalysis> entry : entries.entrySet()) {
+                CanonicalPosition position = entry.getKey();
+                CachedAnalysis analysis = entry.getValue();
+                out.writeInt(position.getWhitePieces());
+                out.writeInt(position.getBlackPieces());
+                out.writeInt(position.getKings());
+                out.writeLong(analysis.getSearchMillis());
+                out.writeLong(analysis.getIterations());
+                out.writeInt(analysis.getRootStatistics().size());
+                for (MoveStatistics statistics : analysis.getRootStatistics()) {
+                    out.writeLong(PositionCodec.encodeMove(statistics.getMove()));
+                    out.writeInt(statistics.getVisits());
+                    out.writeDouble(statistics.getValue());
+                    out.writeByte(statistics.getProofStatus().ordinal());
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads a cache saved by {@link #save(Path)}.
+     *
+     * If the file holds more than maxEntries entries, the least recently
+     * used ones are dropped.
+     *
+     * @throws IOException the file couldn't be read or isn't a saved cache.
+     * @param path File to read.
+     * @param maxEntries Maximum number of positions to keep.
+     * @return The loaded cache.
+     */
+    public static AnalysisCache load(Path path, int maxEntries) throws IOException {
+        AnalysisCache cache = new AnalysisCache(maxEntries);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path),
+                1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an analysis cache");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported analysis cache version " + version);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                CanonicalPosition position = CanonicalPosition.of(in.readInt(), in.readInt(), in.readInt(), true);
+                long searchMillis = in.readLong();
+                long iterations = in.readLong();
+                int moves = in.readInt();
+                List<MoveStatistics> statistics = new ArrayList<>(moves);
+                for (int j = 0; j < moves; j++) {
+                    Move move = PositionCodec.decodeMove(in.readLong());
+                    int visits = in.readInt();
+                    double value = in.readDouble();
+                    int proof = in.readByte();
+                    if (proof < 0 || proof >= PROOF_STATUSES.length) {
+                        throw new IOException("Corrupt analysis cache");
+                    }
+                    statistics.add(new MoveStatistics(move, visits, value, PROOF_STATUSES[proof]));
+                }
+                cache.entries.put(position, new CachedAnalysis(statistics, searchMillis, iterations));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt analysis cache", e);
+        }
+        return cache;
+    }
+
+    /**
+     * Maps an analysis's moves between a position's original and canonical orientations.
+     */
+    private static CachedAnalysis transform(CachedAnalysis analysis, CanonicalPosition key) {
+        if (!(key.isFlipped())) {
+            return analysis;
+        }
+        List<MoveStatistics> statistics = new ArrayList<>(analysis.getRootStatistics().size());
+        for (MoveStatistics moveStatistics : analysis.getRootStatistics()) {
+            statistics.add(new MoveStatistics(CanonicalPosition.flip(moveStatistics.getMove()),
+                    moveStatistics.getVisits(), moveStatistics.getValue(), moveStatistics.getProofStatus()));
+        }
+        return new CachedAnalysis(statistics, analysis.getSearchMillis(), analysis.getIterations());
+    }
+}
@@ -0,0 +1,78 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The outcome of analyzing one position: the best move found and its statistics.
+ */
+public class AnalysisResult {
+
+    /** Size of an encoded result: a position, an encoded move, visits, and value. */
+    public static final int BYTES = PositionCodec.POSITION_BYTES + 8 + 4 + 8;
+
+    private final GameState gameState;
+    private final Move bestMove;
+    private final int visits;
+    private final double value;
+
+    /**
+     * Constructs an AnalysisResult.
+     *
+     * @param gameState The analyzed position.
+     * @param bestMove Best move found, or null if the position has no legal moves.
+     * @param visits Playouts through the best move.
+     * @param value Wins for the moving player in playouts through the best move.
+     */
+    public AnalysisResult(GameState gameState, Move bestMove, int visits, double value) {
+        this.gameState = gameState;
+        this.bestMove = bestMove;
+        this.visits = visits;
+        this.value = value;
+    }
+
+    /**
+     * Writes this result at the buffer's current position, advancing it.
+     *
+     * @param buffer Buffer with at least {@value #BYTES} bytes remaining.
+     */
+    public void write(ByteBuffer buffer) {
+        PositionCodec.writePosition(buffer, gameState);
+        buffer.putLong(PositionCodec.encodeMove(bestMove));
+        buffer.putInt(visits);
+        buffer.putDouble(value);
+    }
+
+    /**
+     * Reads a result at the buffer's current position, advancing it.
+     *
+     * @throws IllegalArgumentException the bytes don't encode a valid result.
+     * @param buffer Buffer with at least {@value #BYTES} bytes remaining.
+     * @return The decoded result.
+     */
+    public static AnalysisResult read(ByteBuffer buffer) {
+        GameState gameState = PositionCodec.readPosition(buffer);
+        Move bestMove = PositionCodec.decodeMove(buffer.getLong());
+        int visits = buffer.getInt();
+        double value = buffer.getDouble();
+        return new AnalysisResult(gameState, bestMove, visits, value);
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public Move getBestMove() {
+        return bestMove;
+    }
+
+    public int getVisits() {
+        return visits;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return gameState + " " + (bestMove == null ? "-" : bestMove.toNotation()) + " " + visits + " " + value;
+    }
+}
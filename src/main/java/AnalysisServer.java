@@ -0,0 +1,311 @@
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves concurrent analysis requests over a line-based TCP protocol.
+ *
+ * Each connection is a session handled on its own thread. Requests have
+ * the form {@code ANALYZE [Time (ms)] [FEN]} and are answered with
+ * {@code BESTMOVE [Move] VISITS [Visits] ITERATIONS [Iterations]}, or
+ * {@code ERROR [Message]}. {@code QUIT} ends the session.
+ *
+ * Searches don't run freely. A session must hold one of a fixed number of
+ * CPU permits while searching, and gives it up after every slice of
+ * iterations. The permits are handed out first come, first served, so
+ * sessions take turns fairly and the server never searches on more
+ * threads than its CPU budget allows, however many sessions are open.
+ *
+ * Session threads are virtual threads when the running JDK supports them
+ * and ordinary threads otherwise.
+ *
+ * With an {@link AnalysisCache}, a request for a position already searched
+ * for at least as long is answered from the cache without searching, and a
+ * request with a longer time limit only searches for the difference,
+ * starting from the cached statistics.
+ */
+public class AnalysisServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessionExecutor;
+    private final Semaphore cpuPermits;
+    private final int sliceIterations;
+    private final long maxSessionMillis;
+    private final double explorationParameter;
+    private volatile AnalysisCache cache = null;
+
+    /**
+     * Constructs an AnalysisServer listening on the loopback interface.
+     *
+     * @throws IOException the port couldn't be bound.
+     * @param port Port to listen on, or 0 to pick a free port.
+     * @param cpuBudget Maximum number of sessions searching at once.
+     * @param sliceIterations Iterations a session runs before yielding its CPU permit.
+     * @param maxSessionMillis Upper limit on the search time of any one request.
+     * @param explorationParameter Exploration parameter for every search.
+     */
+    public AnalysisServer(int port, int cpuBudget, int sliceIterations, long maxSessionMillis,
+                          double explorationParameter) throws IOException {
+        if (cpuBudget < 1) {
+            throw new IllegalArgumentException("cpuBudget must be >=1");
+        }
+        if (sliceIterations < 1) {
+            throw new IllegalArgumentException("sliceIterations must be >=1");
+        }
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.sessionExecutor = newSessionExecutor();
+        this.cpuPermits = new Semaphore(cpuBudget, true);
+        this.sliceIterations = sliceIterations;
+        this.maxSessionMillis = maxSessionMillis;
+        this.explorationParameter = explorationParameter;
+    }
+
+    /**
+     * Starts accepting connections on a background thread.
+     */
+    public void start() {
+        Thread acceptor = new Thread(this::acceptConnections, "AnalysisServer-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public AnalysisCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets the cache used to answer repeated requests.
+     *
+     * @param cache Cache of results shared by every session, or null to always search.
+     */
+    public void setCache(AnalysisCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessionExecutor.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        while (!(serverSocket.isClosed())) {
+            try {
+                Socket socket = serverSocket.accept();
+                sessionExecutor.execute(() -> handleSession(socket));
+            } catch (SocketException e) {
+                // The server socket was closed.
+                return;
+            } catch (IOException e) {
+                System.out.println("Could not accept connection: " + e.getMessage());
+            }
+        }
+    }
+
+    private void handleSession(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(),
+                     StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(),
+                     StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) { continue; }
+                if (line.equalsIgnoreCase("QUIT")) { break; }
+                out.write(handleRequest(line));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The client went away; nothing more to do for this session.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Parses and runs one request.
+     *
+     * @throws InterruptedException the server shut down during the search.
+     * @param request A request line such as "ANALYZE 1000 B:W21,22:B1,2".
+     * @return The response line.
+     */
+    protected String handleRequest(String request) throws InterruptedException {
+        String[] parts = request.split("\\s+", 3);
+        if (parts.length != 3 || !(parts[0].equalsIgnoreCase("ANALYZE"))) {
+            return "ERROR Expected: ANALYZE [Time (ms)] [FEN]";
+        }
+
+        long millis;
+        GameState gameState;
+        try {
+            millis = Math.min(Long.parseLong(parts[1]), maxSessionMillis);
+            gameState = new GameState(parts[2]);
+        } catch (NumberFormatException e) {
+            return "ERROR Invalid time";
+        } catch (IllegalArgumentException e) {
+            return "ERROR Invalid FEN";
+        }
+
+        AnalysisCache cache = this.cache;
+        CachedAnalysis analysis = cache == null ? null : cache.get(gameState);
+        if (analysis == null || analysis.getSearchMillis() < millis) {
+            MCTSDraughtsSearcher searcher;
+            long priorIterations = 0;
+            if (analysis == null) {
+                searcher = analyze(gameState, millis);
+            } else {
+                // Only search for the time not already spent on this position.
+                searcher = AnalysisCache.resume(gameState, analysis, explorationParameter);
+                analyze(searcher, millis - analysis.getSearchMillis());
+                priorIterations = analysis.getIterations();
+            }
+            analysis = new CachedAnalysis(searcher.getRootStatistics(), millis,
+                    priorIterations + searcher.getIterations());
+            if (cache != null) {
+                cache.put(gameState, analysis);
+            }
+        }
+
+        List<Move> bestMoves = analysis.getBestMoves();
+        if (bestMoves.isEmpty()) {
+            return "BESTMOVE - VISITS 0 ITERATIONS " + analysis.getIterations();
+        }
+        return "BESTMOVE " + bestMoves.get(0).toNotation() + " VISITS "
+                + analysis.getStatistics(bestMoves.get(0)).getVisits() + " ITERATIONS " + analysis.getIterations();
+    }
+
+    /**
+     * Searches a position in slices, holding a CPU permit only while searching.
+     *
+     * Time spent waiting for a permit counts against the time limit, so a
+     * request's latency stays bounded however busy the server is.
+     *
+     * @throws InterruptedException the server shut down during the search.
+     * @param gameState Position to search.
+     * @param millis Time limit in milliseconds.
+     * @return The searcher after the search.
+     */
+    protected MCTSDraughtsSearcher analyze(GameState gameState, long millis) throws InterruptedException {
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gameState, explorationParameter);
+        analyze(searcher, millis);
+        return searcher;
+    }
+
+    /**
+     * Continues a search in slices, holding a CPU permit only while searching.
+     *
+     * @throws InterruptedException the server shut down during the search.
+     * @param searcher Searcher to continue.
+     * @param millis Time limit in milliseconds.
+     * @see #analyze(GameState, long)
+     */
+    protected void analyze(MCTSDraughtsSearcher searcher, long millis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        // Always search at least one slice so every request gets an answer.
+        boolean first = true;
+        while (first || System.nanoTime() < deadline) {
+            long remaining = deadline - System.nanoTime();
+            if (first) {
+                cpuPermits.acquire();
+            } else if (!(cpuPermits.tryAcquire(remaining, TimeUnit.NANOSECONDS))) {
+                break;
+            }
+            try {
+                for (int i = 0; i < sliceIterations && !(searcher.isSolved())
+                        && (first || System.nanoTime() < deadline); i++) {
+                    searcher.searchOnce();
+                }
+            } finally {
+                cpuPermits.release();
+            }
+            // Further iterations can't change a solved position's answer.
+            if (searcher.isSolved()) { break; }
+            first = false;
+        }
+    }
+
+    /**
+     * Creates a thread-per-session executor, using virtual threads if available.
+     */
+    private static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "AnalysisServer-session");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: java -cp MCTSDraughts.jar AnalysisServer [Port] [CPU Budget (optional)] "
+                    + "[Max Search Time (ms, optional)] [Cache File (optional)]");
+            System.exit(1);
+        }
+
+        int port = 0;
+        int cpuBudget = Runtime.getRuntime().availableProcessors();
+        long maxSessionMillis = 60_000;
+        try {
+            port = Integer.parseInt(args[0]);
+            if (args.length > 1) {
+                cpuBudget = Integer.parseInt(args[1]);
+            }
+            if (args.length > 2) {
+                maxSessionMillis = Long.parseLong(args[2]);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Please input valid numeric arguments.");
+            System.exit(1);
+        }
+
+        try {
+            AnalysisServer server = new AnalysisServer(port, cpuBudget, 256, maxSessionMillis, Math.sqrt(2.0));
+            if (args.length > 3) {
+                // Keep results across restarts, saving them when the server shuts down.
+                Path cacheFile = Paths.get(args[3]);
+                AnalysisCache cache = Files.exists(cacheFile)
+                        ? AnalysisCache.load(cacheFile, 100_000) : new AnalysisCache(100_000);
+                server.setCache(cache);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        cache.save(cacheFile);
+                    } catch (IOException e) {
+                        System.out.println("Could not save cache: " + e.getMessage());
+                    }
+                }));
+            } else {
+                server.setCache(new AnalysisCache(100_000));
+            }
+            server.start();
+            System.out.println("Listening on port " + server.getPort());
+            Thread.currentThread().join();
+        } catch (IOException e) {
+            System.out.println("Could not start server: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Plays many independent random games to the end at once.
+ *
+ * Positions are given as bitmasks (see {@link GameState#getWhitePieces()}).
+ * At every jump or step, a game picks the first piece able to move after a
+ * random square, then that piece's first direction after a random one, so
+ * every legal choice may be made, though not with exactly equal
+ * probability; unlike a uniform choice, this needs no bit counting.
+ * Multi-captures continue one jump at a time, and a game ends when
+ * the player to move has no legal moves or after 1000 moves, when the last
+ * player to move wins, as in {@link MCTSDraughtsSearcher#simulate(MCTSNode)}.
+ * Given the same seeds, every implementation plays exactly the same games.
+ *
+ * @see MCTSDraughtsSearcher#setBatchPlayout(BatchPlayout, int)
+ */
+public interface BatchPlayout {
+
+    /**
+     * Plays one random game from each of a number of positions.
+     *
+     * The position arrays are overwritten with the position each game
+     * ended in, with the loser (or, after 1000 moves, the player who would
+     * move next) to move.
+     *
+     * @param whitePieces Squares holding white pieces in each position.
+     * @param blackPieces Squares holding black pieces in each position.
+     * @param kings Squares holding kings in each position.
+     * @param whiteToMove Whether white is to move in each position.
+     * @param seeds Random seed for each game.
+     * @param count Number of games to play.
+     * @param whiteWins Filled with whether white won each game.
+     */
+    void playout(int[] whitePieces, int[] blackPieces, int[] kings, boolean[] whiteToMove, int[] seeds,
+                 int count, boolean[] whiteWins);
+
+    /**
+     * Creates the fastest implementation available in the running JVM.
+     *
+     * The Vector API is an incubator module, so {@link VectorBatchPlayout}
+     * is only available when the JVM was started with
+     * {@code --add-modules jdk.incubator.vector}.
+     *
+     * @return A {@link VectorBatchPlayout} if possible, otherwise a {@link ScalarBatchPlayout}.
+     */
+    static BatchPlayout create() {
+        try {
+            return (BatchPlayout) Class.forName("VectorBatchPlayout").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarBatchPlayout();
+        }
+    }
+}
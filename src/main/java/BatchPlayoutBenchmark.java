@@ -0,0 +1,89 @@
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the speed of batch playout kernels with GameState playouts.
+ *
+ * Every kernel plays the same number of games from the starting position
+ * on one thread, and the rate of each is printed in playouts per second.
+ * Start the JVM with {@code --add-modules jdk.incubator.vector} to include
+ * {@link VectorBatchPlayout}.
+ */
+public class BatchPlayoutBenchmark {
+
+    /**
+     * Measures a kernel's speed.
+     *
+     * @param kernel Kernel to measure.
+     * @param gameState Position to play out from.
+     * @param games Number of games to play.
+     * @return Playouts per second.
+     */
+    public static double measure(BatchPlayout kernel, GameState gameState, int games) {
+        int[] white = new int[games];
+        int[] black = new int[games];
+        int[] kings = new int[games];
+        boolean[] whiteToMove = new boolean[games];
+        int[] seeds = new int[games];
+        boolean[] whiteWins = new boolean[games];
+        Random rand = new Random(1);
+        for (int i = 0; i < games; i++) {
+            white[i] = gameState.getWhitePieces();
+            black[i] = gameState.getBlackPieces();
+            kings[i] = gameState.getKings();
+            whiteToMove[i] = gameState.getActivePlayer().equals("W");
+            seeds[i] = rand.nextInt();
+        }
+        long start = System.nanoTime();
+        kernel.playout(white, black, kings, whiteToMove, seeds, games, whiteWins);
+        return games / ((System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Measures the speed of playouts made with GameState and UniformRandomPolicy.
+     *
+     * @param gameState Position to play out from.
+     * @param games Number of games to play.
+     * @return Playouts per second.
+     */
+    public static double measureGameState(GameState gameState, int games) {
+        PlayoutPolicy policy = new UniformRandomPolicy();
+        Random rand = new Random(1);
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            GameState gs = new GameState(gameState);
+            for (int count = 0; count < ScalarBatchPlayout.MAX_MOVES; count++) {
+                List<Move> legalMoves = gs.generateLegalMoves();
+                if (legalMoves.isEmpty()) { break; }
+                gs.makeMove(policy.chooseMove(gs, legalMoves, rand));
+                gs.swapActivePlayer();
+            }
+        }
+        return games / ((System.nanoTime() - start) / 1e9);
+    }
+
+    public static void main(String[] args) {
+        int games = 100_000;
+        if (args.length > 0) {
+            try {
+                games = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                System.out.println("Please input a valid number of games.");
+                System.exit(1);
+            }
+        }
+
+        GameState gameState = new GameState();
+        BatchPlayout best = BatchPlayout.create();
+        // Run each kernel twice so the second run is JIT compiled.
+        for (int round = 0; round < 2; round++) {
+            System.out.printf("GameState: %.0f playouts/s%n", measureGameState(gameState, games / 10));
+            System.out.printf("%s: %.0f playouts/s%n", ScalarBatchPlayout.class.getName(),
+                    measure(new ScalarBatchPlayout(), gameState, games));
+            if (!(best instanceof ScalarBatchPlayout)) {
+                System.out.printf("%s: %.0f playouts/s%n", best.getClass().getName(),
+                        measure(best, gameState, games));
+            }
+        }
+    }
+}
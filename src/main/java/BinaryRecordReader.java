@@ -0,0 +1,124 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads fixed-size position and result records written by {@link BinaryRecordWriter}.
+ *
+ * Sequential reads go through a direct buffer filled in large blocks. For
+ * random access, {@link #map(Path)} maps a whole file into memory and
+ * {@link #positionAt(ByteBuffer, int)} decodes any record in place.
+ */
+public class BinaryRecordReader implements Closeable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private boolean endOfChannel = false;
+
+    /**
+     * Constructs a BinaryRecordReader.
+     *
+     * @param channel Source of records.
+     */
+    public BinaryRecordReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        buffer.flip(); // Start out empty.
+    }
+
+    /**
+     * Opens a reader for a file.
+     *
+     * @throws IOException the file couldn't be opened.
+     * @param path File to read.
+     * @return A reader for the file.
+     */
+    public static BinaryRecordReader open(Path path) throws IOException {
+        return new BinaryRecordReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Reads the next position record.
+     *
+     * @throws IOException the channel failed or ended partway through a record.
+     * @return The next position, or null at the end of the channel.
+     */
+    public GameState readPosition() throws IOException {
+        if (!(fill(PositionCodec.POSITION_BYTES))) { return null; }
+        return PositionCodec.readPosition(buffer);
+    }
+
+    /**
+     * Reads the next result record.
+     *
+     * @throws IOException the channel failed or ended partway through a record.
+     * @return The next result, or null at the end of the channel.
+     */
+    public AnalysisResult readResult() throws IOException {
+        if (!(fill(AnalysisResult.BYTES))) { return null; }
+        return AnalysisResult.read(buffer);
+    }
+
+    /**
+     * Maps a file of records into memory, read-only.
+     *
+     * Files larger than 2GB must be mapped in pieces by the caller.
+     *
+     * @throws IOException the file couldn't be mapped.
+     * @param path File to map.
+     * @return A little-endian buffer over the whole file.
+     */
+    public static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            return mapped;
+        }
+    }
+
+    /**
+     * Decodes the position record at a given index of a buffer of position records.
+     *
+     * @param buffer A little-endian buffer, such as one from {@link #map(Path)}.
+     * @param index Zero-indexed record number.
+     * @return The position at that index.
+     */
+    public static GameState positionAt(ByteBuffer buffer, int index) {
+        return PositionCodec.readPosition(buffer, index * PositionCodec.POSITION_BYTES);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Ensures a whole record is buffered.
+     *
+     * @return Whether a record is available; false at a clean end of channel.
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) { return true; }
+        buffer.compact();
+        while (buffer.position() < bytes && !endOfChannel) {
+            if (channel.read(buffer) < 0) {
+                endOfChannel = true;
+            }
+        }
+        buffer.flip();
+        if (buffer.remaining() == 0) {
+            return false;
+        } else if (buffer.remaining() < bytes) {
+            throw new EOFException("Channel ended partway through a record");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,93 @@
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes fixed-size position and result records to a channel.
+ *
+ * Records are batched in a direct buffer and written in large blocks.
+ * Multi-byte values are little-endian. A file should hold records of one
+ * kind only, since records carry no type information.
+ *
+ * @see BinaryRecordReader
+ */
+public class BinaryRecordWriter implements Closeable, Flushable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Constructs a BinaryRecordWriter.
+     *
+     * @param channel Destination for records.
+     */
+    public BinaryRecordWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Creates (or truncates) a file and opens a writer for it.
+     *
+     * @throws IOException the file couldn't be opened.
+     * @param path File to write.
+     * @return A writer for the file.
+     */
+    public static BinaryRecordWriter open(Path path) throws IOException {
+        return new BinaryRecordWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Writes a {@value PositionCodec#POSITION_BYTES}-byte position record.
+     *
+     * @throws IOException the channel failed.
+     * @param gameState Position to write.
+     */
+    public void writePosition(GameState gameState) throws IOException {
+        ensureRemaining(PositionCodec.POSITION_BYTES);
+        PositionCodec.writePosition(buffer, gameState);
+    }
+
+    /**
+     * Writes a {@value AnalysisResult#BYTES}-byte result record.
+     *
+     * @throws IOException the channel failed.
+     * @param result Result to write.
+     */
+    public void writeResult(AnalysisResult result) throws IOException {
+        ensureRemaining(AnalysisResult.BYTES);
+        result.write(buffer);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * A mutable draughts position held in bitmasks, for allocation-free search.
+ *
+ * Squares are indices 0-31, so bit i is square i+1 in standard notation,
+ * as in {@link GameState#getWhitePieces()}. Moves are longs packed by
+ * {@link PositionCodec#encodeMove(Move)} and are generated in the same
+ * order as {@link GameState#generateLegalMoves()}. None of the methods here
+ * allocate, so a search can reuse a few positions and move buffers forever.
+ */
+public class BitboardPosition {
+
+    /** Size of a move buffer that can hold every legal move of any position. */
+    public static final int MAX_MOVES = 256;
+
+    // Indexed by Offset ordinal for normal moves (0-3), then by index into
+    // state. Jumps are the same directions with ordinals four higher.
+    private static final int[][] STEPS = new int[4][32];
+    private static final int[][] JUMPS = new int[4][32];
+
+    // Directions each piece can move in, in GameState's generation order.
+    private static final int[] WHITE_MAN_DIRECTIONS = {
+            Offset.MOVE_NORTHEAST.ordinal(), Offset.MOVE_NORTHWEST.ordinal()};
+    private static final int[] BLACK_MAN_DIRECTIONS = {
+            Offset.MOVE_SOUTHEAST.ordinal(), Offset.MOVE_SOUTHWEST.ordinal()};
+    private static final int[] KING_DIRECTIONS = {
+            Offset.MOVE_NORTHEAST.ordinal(), Offset.MOVE_NORTHWEST.ordinal(),
+            Offset.MOVE_SOUTHEAST.ordinal(), Offset.MOVE_SOUTHWEST.ordinal()};
+
+    static {
+        Offset[] offsets = Offset.values();
+        for (int direction = 0; direction < 4; direction++) {
+            for (int index = 0; index < 32; index++) {
+                STEPS[direction][index] = GameState.addOffsetToSquare(offsets[direction], index);
+                JUMPS[direction][index] = GameState.addOffsetToSquare(offsets[direction + 4], index);
+            }
+        }
+    }
+
+    private int whitePieces;
+    private int blackPieces;
+    private int kings;
+    private boolean whiteToMove;
+
+    /**
+     * Constructs a BitboardPosition holding draughts' starting position.
+     */
+    public BitboardPosition() {
+        this(new GameState());
+    }
+
+    /**
+     * Constructs a BitboardPosition holding the same position as a GameState.
+     *
+     * @param gameState Position to copy.
+     */
+    public BitboardPosition(GameState gameState) {
+        set(gameState);
+    }
+
+    /**
+     * Overwrites this position with a GameState's.
+     *
+     * @param gameState Position to copy.
+     */
+    public void set(GameState gameState) {
+        whitePieces = gameState.getWhitePieces();
+        blackPieces = gameState.getBlackPieces();
+        kings = gameState.getKings();
+        whiteToMove = gameState.getActivePlayer().equals("W");
+    }
+
+    /**
+     * Overwrites this position with another, without allocating.
+     *
+     * @param other Position to copy.
+     */
+    public void set(BitboardPosition other) {
+        whitePieces = other.whitePieces;
+        blackPieces = other.blackPieces;
+        kings = other.kings;
+        whiteToMove = other.whiteToMove;
+    }
+
+    public GameState toGameState() {
+        return new GameState(whitePieces, blackPieces, kings, whiteToMove ? "W" : "B");
+    }
+
+    public int getWhitePieces() {
+        return whitePieces;
+    }
+
+    public int getBlackPieces() {
+        return blackPieces;
+    }
+
+    public int getKings() {
+        return kings;
+    }
+
+    public boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    /**
+     * Toggles the player who is moving on this turn between white and black.
+     */
+    public void swapActivePlayer() {
+        whiteToMove = !whiteToMove;
+    }
+
+    /**
+     * Finds all valid moves in the current position.
+     *
+     * @param moves Buffer of at least {@link #MAX_MOVES} elements to fill with encoded moves.
+     * @return Number of moves written to the buffer.
+     */
+    public int generateLegalMoves(long[] moves) {
+        int own = whiteToMove ? whitePieces : blackPieces;
+        int opponents = whiteToMove ? blackPieces : whitePieces;
+        int count = 0;
+        for (int index = 0; index < 32; index++) {
+            if ((own & (1 << index)) != 0) {
+                count = generateJumps(index, index, (kings & (1 << index)) != 0,
+                        own & ~(1 << index), opponents, 0L, 0, moves, count);
+            }
+        }
+        // Since jumps are mandatory, normal moves are only legal without any.
+        if (count > 0) { return count; }
+
+        int empty = ~(whitePieces | blackPieces);
+        for (int index = 0; index < 32; index++) {
+            if ((own & (1 << index)) == 0) { continue; }
+            for (int direction : directions((kings & (1 << index)) != 0)) {
+                int end = STEPS[direction][index];
+                if (end != -1 && (empty & (1 << end)) != 0 && count < moves.length) {
+                    moves[count++] = index | (1L << 5) | ((long) direction << 10);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Recursively finds captures continuing from a square.
+     *
+     * @param start Index the moving piece started the turn on.
+     * @param index Index the moving piece is currently on.
+     * @param king Whether the moving piece is a king.
+     * @param own The mover's other pieces.
+     * @param opponents Opponent pieces not yet captured.
+     * @param path Jumps made so far, packed as in an encoded move.
+     * @param depth Number of jumps made so far.
+     * @param moves Buffer to write complete captures to.
+     * @param count Number of moves already in the buffer.
+     * @return Number of moves in the buffer afterwards.
+     */
+    private int generateJumps(int start, int index, boolean king, int own, int opponents,
+                              long path, int depth, long[] moves, int count) {
+        int occupied = own | opponents;
+        for (int direction : directions(king)) {
+            int end = JUMPS[direction][index];
+            // The destination must be empty and there must be a piece to capture.
+            if (end == -1 || (occupied & (1 << end)) != 0
+                    || (opponents & (1 << STEPS[direction][index])) == 0) {
+                continue;
+            }
+            long extended = path | ((long) (direction + 4) << (10 + 3 * depth));
+            int before = count;
+            // Promoting ends one's turn.
+            boolean promotes = !king && (whiteToMove ? end <= 3 : end >= 28);
+            if (!(promotes) && depth + 1 < PositionCodec.MAX_MOVE_OFFSETS) {
+                count = generateJumps(start, end, king, own,
+                        opponents & ~(1 << STEPS[direction][index]), extended, depth + 1, moves, count);
+            }
+            if (count == before && count < moves.length) {
+                moves[count++] = start | ((long) (depth + 1) << 5) | extended;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Applies a legal move to this position without changing the active player.
+     *
+     * @param move A legal move encoded by {@link PositionCodec#encodeMove(Move)}.
+     */
+    public void makeMove(long move) {
+        int start = (int) (move & 0x1F);
+        int count = (int) ((move >>> 5) & 0x1F);
+        int location = start;
+        int captured = 0;
+        for (int i = 0; i < count; i++) {
+            int offset = (int) ((move >>> (10 + 3 * i)) & 0x7);
+            if (offset >= 4) {
+                captured |= 1 << STEPS[offset - 4][location];
+                location = JUMPS[offset - 4][location];
+            } else {
+                location = STEPS[offset][location];
+            }
+        }
+
+        boolean king = (kings & (1 << start)) != 0
+                || (whiteToMove ? location <= 3 : location >= 28);
+        int moved = (1 << start);
+        whitePieces &= ~captured;
+        blackPieces &= ~captured;
+        kings &= ~(captured | moved);
+        if (whiteToMove) {
+            whitePieces = (whitePieces & ~moved) | (1 << location);
+        } else {
+            blackPieces = (blackPieces & ~moved) | (1 << location);
+        }
+        if (king) {
+            kings |= 1 << location;
+        }
+    }
+
+    private int[] directions(boolean king) {
+        if (king) {
+            return KING_DIRECTIONS;
+        }
+        return whiteToMove ? WHITE_MAN_DIRECTIONS : BLACK_MAN_DIRECTIONS;
+    }
+}
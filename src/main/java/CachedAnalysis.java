@@ -0,0 +1,66 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of analyzing a position, as kept by an {@link AnalysisCache}.
+ */
+public class CachedAnalysis {
+
+    private final List<MoveStatistics> rootStatistics;
+    private final long searchMillis;
+    private final long iterations;
+
+    /**
+     * Constructs a CachedAnalysis.
+     *
+     * @param rootStatistics Statistics for every move from the analyzed position.
+     * @param searchMillis Search time budget spent on the position in milliseconds.
+     * @param iterations Iterations performed within that budget.
+     */
+    public CachedAnalysis(List<MoveStatistics> rootStatistics, long searchMillis, long iterations) {
+        this.rootStatistics = Collections.unmodifiableList(new ArrayList<>(rootStatistics));
+        this.searchMillis = searchMillis;
+        this.iterations = iterations;
+    }
+
+    public List<MoveStatistics> getRootStatistics() {
+        return rootStatistics;
+    }
+
+    public long getSearchMillis() {
+        return searchMillis;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the best move (or moves if a tie occurs) according to the cached statistics.
+     *
+     * Moves are ranked as by the searcher that produced the statistics:
+     * proven wins first, then the most visited moves not proven to lose.
+     *
+     * @return The best move(s).
+     * @see MoveStatistics#getBestMoves(List)
+     */
+    public List<Move> getBestMoves() {
+        return MoveStatistics.getBestMoves(rootStatistics);
+    }
+
+    /**
+     * Gets the statistics for one move.
+     *
+     * @param move A move from the analyzed position.
+     * @return Statistics for that move, or null if there are none.
+     */
+    public MoveStatistics getStatistics(Move move) {
+        for (MoveStatistics statistics : rootStatistics) {
+            if (statistics.getMove().equals(move)) {
+                return statistics;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,176 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A position key shared by a position and its color-swapped mirror image.
+ *
+ * Rotating the board 180 degrees and swapping the colors of every piece
+ * (including the active player) gives a position that plays identically
+ * to the original. Canonical positions always have white to move: black
+ * to move positions are flipped, which reverses the bits of each mask
+ * since square n becomes square 33-n. Caches keyed on canonical positions
+ * store each pair of equivalent positions once.
+ *
+ * Moves from the canonical position can be mapped back to the original
+ * orientation with {@link #toOriginal(Move)}.
+ */
+public final class CanonicalPosition {
+
+    private final int whitePieces;
+    private final int blackPieces;
+    private final int kings;
+    private final boolean flipped;
+
+    private CanonicalPosition(int whitePieces, int blackPieces, int kings, boolean flipped) {
+        this.whitePieces = whitePieces;
+        this.blackPieces = blackPieces;
+        this.kings = kings;
+        this.flipped = flipped;
+    }
+
+    /**
+     * Finds the canonical form of a position.
+     *
+     * @param gameState Position to canonicalize.
+     * @return The canonical position.
+     */
+    public static CanonicalPosition of(GameState gameState) {
+        return of(gameState.getWhitePieces(), gameState.getBlackPieces(), gameState.getKings(),
+                gameState.getActivePlayer().equals("W"));
+    }
+
+    /**
+     * Finds the canonical form of a position given as bitmasks in constant time.
+     *
+     * @param whitePieces Squares holding a white piece.
+     * @param blackPieces Squares holding a black piece.
+     * @param kings Squares holding a king.
+     * @param whiteToMove Whether white is the active player.
+     * @return The canonical position.
+     * @see GameState#GameState(int, int, int, String)
+     */
+    public static CanonicalPosition of(int whitePieces, int blackPieces, int kings, boolean whiteToMove) {
+        if (whiteToMove) {
+            return new CanonicalPosition(whitePieces, blackPieces, kings, false);
+        }
+        return new CanonicalPosition(Integer.reverse(blackPieces), Integer.reverse(whitePieces),
+                Integer.reverse(kings), true);
+    }
+
+    /**
+     * Gets whether the original position had to be flipped to reach this canonical position.
+     *
+     * @return True if the original position had black to move.
+     */
+    public boolean isFlipped() {
+        return flipped;
+    }
+
+    public int getWhitePieces() {
+        return whitePieces;
+    }
+
+    public int getBlackPieces() {
+        return blackPieces;
+    }
+
+    public int getKings() {
+        return kings;
+    }
+
+    /**
+     * Gets the canonical position as a GameState, which always has white to move.
+     *
+     * @return The canonical GameState.
+     */
+    public GameState toGameState() {
+        return new GameState(whitePieces, blackPieces, kings, "W");
+    }
+
+    /**
+     * Maps a move in the canonical position to the original position.
+     *
+     * @param move A move in the canonical position.
+     * @return The same move in the original position's orientation.
+     */
+    public Move toOriginal(Move move) {
+        return flipped ? flip(move) : move;
+    }
+
+    /**
+     * Maps a move in the original position to the canonical position.
+     *
+     * @param move A move in the original position.
+     * @return The same move in the canonical position's orientation.
+     */
+    public Move toCanonical(Move move) {
+        // Flipping is its own inverse.
+        return toOriginal(move);
+    }
+
+    /**
+     * Rotates a move 180 degrees.
+     *
+     * @param move Move to rotate.
+     * @return The move starting on the opposite square and heading in opposite directions.
+     */
+    public static Move flip(Move move) {
+        List<Offset> offsets = new ArrayList<>(move.getOffsets().size());
+        for (Offset o : move.getOffsets()) {
+            offsets.add(flip(o));
+        }
+        return new Move(33 - move.getStart(), offsets);
+    }
+
+    private static Offset flip(Offset offset) {
+        switch (offset) {
+            case MOVE_NORTHEAST:
+                return Offset.MOVE_SOUTHWEST;
+            case MOVE_NORTHWEST:
+                return Offset.MOVE_SOUTHEAST;
+            case MOVE_SOUTHEAST:
+                return Offset.MOVE_NORTHWEST;
+            case MOVE_SOUTHWEST:
+                return Offset.MOVE_NORTHEAST;
+            case JUMP_NORTHEAST:
+                return Offset.JUMP_SOUTHWEST;
+            case JUMP_NORTHWEST:
+                return Offset.JUMP_SOUTHEAST;
+            case JUMP_SOUTHEAST:
+                return Offset.JUMP_NORTHWEST;
+            default:
+                return Offset.JUMP_NORTHEAST;
+        }
+    }
+
+    /**
+     * Gets the first 64 bits of the key, for tables that want primitive keys.
+     *
+     * Together with {@link #getKings()}, this identifies the canonical position.
+     *
+     * @return White and black piece masks packed into a long.
+     */
+    public long getPieceKey() {
+        return ((long) whitePieces << 32) | (blackPieces & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CanonicalPosition that = (CanonicalPosition) o;
+        // Flipped and unflipped originals share a key, so the flag isn't compared.
+        return whitePieces == that.whitePieces && blackPieces == that.blackPieces && kings == that.kings;
+    }
+
+    @Override
+    public int hashCode() {
+        long key = getPieceKey() * 0x9E3779B97F4A7C15L + kings;
+        return (int) (key ^ (key >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return toGameState().toString();
+    }
+}
@@ -0,0 +1,71 @@
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Prefers moves that capture the most pieces, then moves that promote.
+ *
+ * Jumps are already mandatory in draughts, so among captures this policy
+ * picks the longest ones. Among normal moves it picks promotions if there
+ * are any. Remaining ties are broken uniformly at random.
+ */
+public class CapturePromotionPolicy implements PlayoutPolicy {
+
+    @Override
+    public Move chooseMove(GameState gameState, List<Move> legalMoves, Random random) {
+        int bestScore = Integer.MIN_VALUE;
+        int bestCount = 0;
+        Move best = null;
+        for (Move move : legalMoves) {
+            int score = score(gameState, move);
+            if (score > bestScore) {
+                bestScore = score;
+                bestCount = 1;
+                best = move;
+            } else if (score == bestScore) {
+                // Reservoir sampling keeps the tie-break uniform without a list.
+                bestCount++;
+                if (random.nextInt(bestCount) == 0) {
+                    best = move;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int score(GameState gameState, Move move) {
+        int score = 0;
+        List<Offset> offsets = move.getOffsets();
+        Offset first = offsets.get(0);
+        boolean isJump = first == Offset.JUMP_NORTHEAST || first == Offset.JUMP_NORTHWEST
+                || first == Offset.JUMP_SOUTHEAST || first == Offset.JUMP_SOUTHWEST;
+        if (isJump) {
+            score += 2 * offsets.size();
+        }
+        if (promotes(gameState, move)) {
+            score += 1;
+        }
+        return score;
+    }
+
+    /**
+     * Checks if a move turns a man into a king.
+     *
+     * @param gameState Position the move is made in.
+     * @param move A legal move.
+     * @return Whether the moving piece is a man that ends on the far row.
+     */
+    static boolean promotes(GameState gameState, Move move) {
+        Piece piece = gameState.getPiece(move.getStart());
+        if (piece != Piece.WHITE_MAN && piece != Piece.BLACK_MAN) { return false; }
+        int location = move.getStart() - 1;
+        for (Offset o : move.getOffsets()) {
+            location = GameState.addOffsetToSquare(o, location);
+        }
+        return piece == Piece.WHITE_MAN ? location <= 3 : location >= 28;
+    }
+
+    @Override
+    public String toString() {
+        return "CapturePromotion";
+    }
+}
@@ -0,0 +1,374 @@
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Coordinates a root-parallel search spread over worker processes.
+ *
+ * Every worker that connects (see {@link DistributedSearchWorker}) is sent
+ * {@code SEARCH [Time (ms)] [Report Interval (ms)] [Exploration Parameter] [Seed] [FEN]}
+ * and searches that position with its own {@link MCTSDraughtsSearcher},
+ * seeded with a seed derived from the coordinator's seed and the worker's
+ * connection order.
+ * While searching, it periodically reports its root statistics as
+ * {@code STATS [Iterations] [Move]:[Visits]:[Value] ...}, with moves in
+ * standard notation, and finally sends {@code DONE}. A move the worker has
+ * proven to win or lose has {@code :W} or {@code :L} appended. Since the
+ * workers' trees are independent, the coordinator merges them by summing
+ * the latest visits and values each worker reported for every root move.
+ * Proofs are exact, so a move proven by any worker is proven for all, and
+ * best moves are ranked by proof before visits, as in
+ * {@link MCTSDraughtsSearcher#getBestMoves()}. A worker stops searching
+ * once it solves the position, so its winning move would otherwise be
+ * outvoted by the other workers' visits.
+ *
+ * A worker that disconnects without sending {@code DONE} counts as
+ * finished and lost. Its last report is still merged: every report is a
+ * consistent snapshot of an independent search, so it remains valid
+ * evidence even if the search behind it was cut short.
+ *
+ * Workers may run on the same machine or on other hosts; the protocol is
+ * plain text over TCP.
+ */
+public class DistributedSearchCoordinator implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final GameState gameState;
+    private final long searchMillis;
+    private final long reportIntervalMillis;
+    private final double explorationParameter;
+    private volatile long seed = new Random().nextLong();
+
+    // Guarded by this.
+    private final Map<Integer, List<MoveStatistics>> workerStatistics = new HashMap<>();
+    private final Map<Integer, Long> workerIterations = new HashMap<>();
+    private int connectedWorkers = 0;
+    private int finishedWorkers = 0;
+    private int lostWorkers = 0;
+
+    /**
+     * Constructs a DistributedSearchCoordinator.
+     *
+     * @throws IOException the port couldn't be bound.
+     * @param gameState Position for every worker to search.
+     * @param searchMillis Time each worker searches for in milliseconds.
+     * @param reportIntervalMillis Time between statistics reports from each worker in milliseconds.
+     * @param explorationParameter Exploration parameter for every worker's search.
+     * @param port Port to listen on, or 0 to pick a free port.
+     * @param bindAddress Address to listen on, or null to listen on all interfaces.
+     */
+    public DistributedSearchCoordinator(GameState gameState, long searchMillis, long reportIntervalMillis,
+                                        double explorationParameter, int port, InetAddress bindAddress)
+            throws IOException {
+        if (searchMillis < 0) {
+            throw new IllegalArgumentException("searchMillis must be >=0");
+        }
+        if (reportIntervalMillis < 1) {
+            throw new IllegalArgumentException("reportIntervalMillis must be >=1");
+        }
+        this.gameState = new GameState(gameState);
+        this.searchMillis = searchMillis;
+        this.reportIntervalMillis = reportIntervalMillis;
+        this.explorationParameter = explorationParameter;
+        this.serverSocket = new ServerSocket(port, 50, bindAddress);
+    }
+
+    /**
+     * Starts accepting workers on a background thread.
+     */
+    public void start() {
+        Thread acceptor = new Thread(this::acceptWorkers, "DistributedSearchCoordinator-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed from which each worker's seed is derived.
+     *
+     * Only workers that connect afterwards are affected.
+     *
+     * @param seed Seed for the whole search; random by default.
+     * @see MCTSDraughtsSearcher#deriveSeed(long, long)
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Waits for a number of workers to finish searching.
+     *
+     * @throws InterruptedException the thread was interrupted while waiting.
+     * @param workers Number of workers to wait for.
+     * @param timeoutMillis Maximum time to wait in milliseconds.
+     * @return Whether that many workers finished before the timeout.
+     */
+    public synchronized boolean awaitWorkers(int workers, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (finishedWorkers < workers) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) { return false; }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Merges the latest statistics reported by every worker.
+     *
+     * @return Summed statistics for every legal move from the root, in
+     *         move generation order, proven if any worker proved them.
+     */
+    public synchronized List<MoveStatistics> getMergedStatistics() {
+        Map<Move, int[]> visits = new LinkedHashMap<>();
+        Map<Move, double[]> values = new HashMap<>();
+        Map<Move, ProofStatus> proofStatuses = new HashMap<>();
+        for (Move move : gameState.generateLegalMoves()) {
+            visits.put(move, new int[1]);
+            values.put(move, new double[1]);
+            proofStatuses.put(move, ProofStatus.UNPROVEN);
+        }
+        for (List<MoveStatistics> statistics : workerStatistics.values()) {
+            for (MoveStatistics moveStatistics : statistics) {
+                int[] moveVisits = visits.get(moveStatistics.getMove());
+                if (moveVisits == null) { continue; }
+                moveVisits[0] += moveStatistics.getVisits();
+                values.get(moveStatistics.getMove())[0] += moveStatistics.getValue();
+                if (moveStatistics.getProofStatus() != ProofStatus.UNPROVEN) {
+                    proofStatuses.put(moveStatistics.getMove(), moveStatistics.getProofStatus());
+                }
+            }
+        }
+
+        List<MoveStatistics> merged = new ArrayList<>(visits.size());
+        for (Map.Entry<Move, int[]> entry : visits.entrySet()) {
+            merged.add(new MoveStatistics(entry.getKey(), entry.getValue()[0], values.get(entry.getKey())[0],
+                    proofStatuses.get(entry.getKey())));
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the best move (or moves if a tie occurs) according to the merged statistics.
+     *
+     * @return Any move a worker proved to win, otherwise the most visited
+     *         move(s) not proven to lose, or none if no worker has reported yet.
+     * @see MoveStatistics#getBestMoves(List)
+     */
+    public List<Move> getBestMoves() {
+        synchronized (this) {
+            if (workerStatistics.isEmpty()) { return new ArrayList<>(); }
+        }
+        return MoveStatistics.getBestMoves(getMergedStatistics());
+    }
+
+    /**
+     * Gets the iterations performed by every worker combined.
+     *
+     * @return Sum of the latest iteration counts reported by each worker.
+     */
+    public synchronized long getIterations() {
+        long iterations = 0;
+        for (long workerIteration : workerIterations.values()) {
+            iterations += workerIteration;
+        }
+        return iterations;
+    }
+
+    public synchronized int getConnectedWorkers() {
+        return connectedWorkers;
+    }
+
+    /**
+     * Gets the number of workers that have stopped searching.
+     *
+     * @return Workers that sent {@code DONE} or disconnected.
+     */
+    public synchronized int getFinishedWorkers() {
+        return finishedWorkers;
+    }
+
+    /**
+     * Gets the number of workers that disconnected without finishing.
+     *
+     * @return Workers that failed, whose last reports are still merged.
+     */
+    public synchronized int getLostWorkers() {
+        return lostWorkers;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptWorkers() {
+        while (!(serverSocket.isClosed())) {
+            try {
+                Socket socket = serverSocket.accept();
+                int workerId;
+                synchronized (this) {
+                    workerId = connectedWorkers++;
+                }
+                Thread session = new Thread(() -> handleWorker(socket, workerId),
+                        "DistributedSearchCoordinator-worker-" + workerId);
+                session.setDaemon(true);
+                session.start();
+            } catch (SocketException e) {
+                // The server socket was closed.
+                return;
+            } catch (IOException e) {
+                System.out.println("Could not accept worker: " + e.getMessage());
+            }
+        }
+    }
+
+    private void handleWorker(Socket socket, int workerId) {
+        boolean done = false;
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(),
+                     StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(),
+                     StandardCharsets.UTF_8))) {
+            out.write("SEARCH " + searchMillis + " " + reportIntervalMillis + " " + explorationParameter
+                    + " " + MCTSDraughtsSearcher.deriveSeed(seed, workerId) + " " + gameState + "\n");
+            out.flush();
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.equals("DONE")) {
+                    done = true;
+                    return;
+                } else if (line.startsWith("STATS ")) {
+                    recordStatistics(workerId, line);
+                }
+            }
+            System.out.println("Lost worker " + workerId + ": disconnected before finishing");
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Lost worker " + workerId + ": " + e.getMessage());
+        } finally {
+            // Lost workers count as finished so that waiters aren't held up until their timeout.
+            synchronized (this) {
+                finishedWorkers++;
+                if (!(done)) {
+                    lostWorkers++;
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Replaces a worker's statistics with those from a report.
+     *
+     * @throws IllegalArgumentException the report is malformed.
+     * @param workerId Worker that sent the report.
+     * @param report A report such as "STATS 1200 11-15:600:310.0 9-13:600:290.0:W".
+     */
+    private void recordStatistics(int workerId, String report) {
+        String[] parts = report.split("\\s+");
+        long iterations;
+        List<MoveStatistics> statistics = new ArrayList<>(parts.length - 2);
+        try {
+            iterations = Long.parseLong(parts[1]);
+            for (int i = 2; i < parts.length; i++) {
+                String[] fields = parts[i].split(":");
+                if (fields.length != 3 && fields.length != 4) {
+                    throw new IllegalArgumentException("Malformed statistics: " + parts[i]);
+                }
+                ProofStatus proofStatus = ProofStatus.UNPROVEN;
+                if (fields.length == 4) {
+                    if (fields[3].equals("W")) {
+                        proofStatus = ProofStatus.WIN;
+                    } else if (fields[3].equals("L")) {
+                        proofStatus = ProofStatus.LOSS;
+                    } else {
+                        throw new IllegalArgumentException("Malformed statistics: " + parts[i]);
+                    }
+                }
+                statistics.add(new MoveStatistics(gameState.parseMove(fields[0]), Integer.parseInt(fields[1]),
+                        Double.parseDouble(fields[2]), proofStatus));
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed report: " + report);
+        }
+        synchronized (this) {
+            workerStatistics.put(workerId, statistics);
+            workerIterations.put(workerId, iterations);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.out.println("Usage: java -cp MCTSDraughts.jar DistributedSearchCoordinator [Port] [Workers] "
+                    + "[Time (ms)] [FEN] [Seed (optional)]");
+            System.exit(1);
+        }
+
+        int port = 0;
+        int workers = 0;
+        long millis = 0;
+        GameState gameState = null;
+        Long seed = null;
+        try {
+            port = Integer.parseInt(args[0]);
+            workers = Integer.parseInt(args[1]);
+            millis = Long.parseLong(args[2]);
+            gameState = new GameState(args[3]);
+            if (args.length > 4) {
+                seed = Long.parseLong(args[4]);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Please input valid numeric arguments.");
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Please input a valid FEN.");
+            System.exit(1);
+        }
+
+        try (DistributedSearchCoordinator coordinator = new DistributedSearchCoordinator(gameState, millis,
+                1000, Math.sqrt(2.0), port, null)) {
+            if (seed != null) {
+                coordinator.setSeed(seed);
+            }
+            coordinator.start();
+            System.out.println("Waiting for " + workers + " workers on port " + coordinator.getPort());
+            // Allow a generous margin for workers connecting late.
+            if (!(coordinator.awaitWorkers(workers, 2 * millis + 60_000))) {
+                System.out.println("Only " + coordinator.getFinishedWorkers() + " workers finished in time.");
+            }
+            if (coordinator.getLostWorkers() > 0) {
+                System.out.println(coordinator.getLostWorkers() + " workers were lost before finishing.");
+            }
+            for (MoveStatistics statistics : coordinator.getMergedStatistics()) {
+                System.out.println(statistics.getMove().toNotation() + ": " + statistics.getVisits() + " visits, "
+                        + String.format("%.3f", statistics.getMeanValue()));
+            }
+            List<Move> bestMoves = coordinator.getBestMoves();
+            System.out.println("Best move: " + (bestMoves.isEmpty() ? "-" : bestMoves.get(0).toNotation())
+                    + " (" + coordinator.getIterations() + " iterations)");
+        } catch (IOException e) {
+            System.out.println("Could not run coordinator: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
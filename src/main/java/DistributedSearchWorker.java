@@ -0,0 +1,110 @@
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Searches on behalf of a {@link DistributedSearchCoordinator}.
+ *
+ * A worker connects to the coordinator, receives a position to search,
+ * and reports its root statistics at the requested interval until the
+ * search ends. Run one worker process per core on as many hosts as needed.
+ */
+public class DistributedSearchWorker {
+
+    /**
+     * Runs one search for a coordinator.
+     *
+     * @throws IOException the connection failed or the coordinator sent an invalid request.
+     * @param host Host the coordinator runs on.
+     * @param port Port the coordinator listens on.
+     * @return Number of iterations performed.
+     */
+    public static long run(String host, int port) throws IOException {
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                     StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(),
+                     StandardCharsets.UTF_8))) {
+            String request = in.readLine();
+            if (request == null) {
+                throw new IOException("Coordinator closed the connection");
+            }
+            String[] parts = request.trim().split("\\s+", 6);
+            if (parts.length != 6 || !(parts[0].equals("SEARCH"))) {
+                throw new IOException("Unexpected request: " + request);
+            }
+
+            MCTSDraughtsSearcher searcher;
+            long millis;
+            try {
+                millis = Long.parseLong(parts[1]);
+                searcher = new MCTSDraughtsSearcher(new GameState(parts[5]), Double.parseDouble(parts[3]));
+                searcher.setProgressIntervalMillis(Long.parseLong(parts[2]));
+                searcher.setSeed(Long.parseLong(parts[4]));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid request: " + request, e);
+            }
+            searcher.addProgressListener(progress -> {
+                try {
+                    out.write(formatStatistics(progress));
+                    out.write('\n');
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            try {
+                searcher.search(millis);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.write("DONE\n");
+            out.flush();
+            return searcher.getIterations();
+        }
+    }
+
+    /**
+     * Formats a progress snapshot as a statistics report.
+     *
+     * @param progress Snapshot of the search.
+     * @return A report such as "STATS 1200 11-15:600:310.0 9-13:600:290.0:W".
+     */
+    static String formatStatistics(SearchProgress progress) {
+        StringBuilder builder = new StringBuilder("STATS ").append(progress.getIterations());
+        for (MoveStatistics statistics : progress.getRootStatistics()) {
+            builder.append(' ').append(statistics.getMove().toNotation())
+                    .append(':').append(statistics.getVisits())
+                    .append(':').append(statistics.getValue());
+            if (statistics.getProofStatus() == ProofStatus.WIN) {
+                builder.append(":W");
+            } else if (statistics.getProofStatus() == ProofStatus.LOSS) {
+                builder.append(":L");
+            }
+        }
+        return builder.toString();
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java -cp MCTSDraughts.jar DistributedSearchWorker [Coordinator Host] [Port]");
+            System.exit(1);
+        }
+
+        int port = 0;
+        try {
+            port = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            System.out.println("Please input a valid port.");
+            System.exit(1);
+        }
+
+        try {
+            System.out.println("Searched " + run(args[0], port) + " iterations.");
+        } catch (IOException e) {
+            System.out.println("Could not search for coordinator: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -8,32 +8,55 @@ public class GameState {
     private final List<Piece> state;
     private String activePlayer;
 
-    private static final Map<Piece, Offset[]> pieceToJumpDirections = Map.of(
-            Piece.WHITE_MAN, new Offset[]{Offset.JUMP_NORTHEAST, Offset.JUMP_NORTHWEST},
-            Piece.BLACK_MAN, new Offset[]{Offset.JUMP_SOUTHEAST, Offset.JUMP_SOUTHWEST},
-            Piece.WHITE_KING, new Offset[]{Offset.JUMP_NORTHEAST, Offset.JUMP_NORTHWEST,
-                    Offset.JUMP_SOUTHEAST, Offset.JUMP_SOUTHWEST},
-            Piece.BLACK_KING, new Offset[]{Offset.JUMP_NORTHEAST, Offset.JUMP_NORTHWEST,
-                    Offset.JUMP_SOUTHEAST, Offset.JUMP_SOUTHWEST},
-            Piece.NONE, new Offset[]{}
-    );
-
-    private static final Map<Offset, Offset> jumpToMove = Map.of(
-            Offset.JUMP_NORTHEAST, Offset.MOVE_NORTHEAST,
-            Offset.JUMP_NORTHWEST, Offset.MOVE_NORTHWEST,
-            Offset.JUMP_SOUTHEAST, Offset.MOVE_SOUTHEAST,
-            Offset.JUMP_SOUTHWEST, Offset.MOVE_SOUTHWEST
-    );
-
-    private static final Map<Piece, Offset[]> pieceToMoveDirections = Map.of(
-            Piece.WHITE_MAN, new Offset[]{Offset.MOVE_NORTHEAST, Offset.MOVE_NORTHWEST},
-            Piece.BLACK_MAN, new Offset[]{Offset.MOVE_SOUTHEAST, Offset.MOVE_SOUTHWEST},
-            Piece.WHITE_KING, new Offset[]{Offset.MOVE_NORTHEAST, Offset.MOVE_NORTHWEST,
-                    Offset.MOVE_SOUTHEAST, Offset.MOVE_SOUTHWEST},
-            Piece.BLACK_KING, new Offset[]{Offset.MOVE_NORTHEAST, Offset.MOVE_NORTHWEST,
-                    Offset.MOVE_SOUTHEAST, Offset.MOVE_SOUTHWEST},
-            Piece.NONE, new Offset[]{}
-    );
+    private static final Offset[] OFFSETS = Offset.values();
+
+    // Squares reached by each offset from each square, indexed by Offset
+    // ordinal and then by index into state, or -1 off the board.
+    private static final int[][] NEIGHBORS = new int[OFFSETS.length][32];
+    // Squares passed over by each jump from each square, indexed like
+    // NEIGHBORS. Normal moves and jumps off the board pass over -1.
+    private static final int[][] JUMPED = new int[OFFSETS.length][32];
+
+    // Directions each piece may jump or move in, indexed by Piece ordinal.
+    private static final Offset[][] JUMP_DIRECTIONS = new Offset[Piece.values().length][];
+    private static final Offset[][] MOVE_DIRECTIONS = new Offset[Piece.values().length][];
+
+    static {
+        for (Offset offset : OFFSETS) {
+            for (int index = 0; index < 32; index++) {
+                NEIGHBORS[offset.ordinal()][index] = computeOffsetSquare(offset, index);
+                JUMPED[offset.ordinal()][index] = -1;
+            }
+        }
+        // A jump passes over the square a normal move in the same direction lands on.
+        Offset[][] jumpToMove = {
+                {Offset.JUMP_NORTHEAST, Offset.MOVE_NORTHEAST},
+                {Offset.JUMP_NORTHWEST, Offset.MOVE_NORTHWEST},
+                {Offset.JUMP_SOUTHEAST, Offset.MOVE_SOUTHEAST},
+                {Offset.JUMP_SOUTHWEST, Offset.MOVE_SOUTHWEST}
+        };
+        for (Offset[] pair : jumpToMove) {
+            for (int index = 0; index < 32; index++) {
+                if (NEIGHBORS[pair[0].ordinal()][index] != -1) {
+                    JUMPED[pair[0].ordinal()][index] = NEIGHBORS[pair[1].ordinal()][index];
+                }
+            }
+        }
+
+        JUMP_DIRECTIONS[Piece.WHITE_MAN.ordinal()] = new Offset[]{Offset.JUMP_NORTHEAST, Offset.JUMP_NORTHWEST};
+        JUMP_DIRECTIONS[Piece.BLACK_MAN.ordinal()] = new Offset[]{Offset.JUMP_SOUTHEAST, Offset.JUMP_SOUTHWEST};
+        JUMP_DIRECTIONS[Piece.WHITE_KING.ordinal()] = new Offset[]{Offset.JUMP_NORTHEAST, Offset.JUMP_NORTHWEST,
+                Offset.JUMP_SOUTHEAST, Offset.JUMP_SOUTHWEST};
+        JUMP_DIRECTIONS[Piece.BLACK_KING.ordinal()] = JUMP_DIRECTIONS[Piece.WHITE_KING.ordinal()];
+        JUMP_DIRECTIONS[Piece.NONE.ordinal()] = new Offset[]{};
+
+        MOVE_DIRECTIONS[Piece.WHITE_MAN.ordinal()] = new Offset[]{Offset.MOVE_NORTHEAST, Offset.MOVE_NORTHWEST};
+        MOVE_DIRECTIONS[Piece.BLACK_MAN.ordinal()] = new Offset[]{Offset.MOVE_SOUTHEAST, Offset.MOVE_SOUTHWEST};
+        MOVE_DIRECTIONS[Piece.WHITE_KING.ordinal()] = new Offset[]{Offset.MOVE_NORTHEAST, Offset.MOVE_NORTHWEST,
+                Offset.MOVE_SOUTHEAST, Offset.MOVE_SOUTHWEST};
+        MOVE_DIRECTIONS[Piece.BLACK_KING.ordinal()] = MOVE_DIRECTIONS[Piece.WHITE_KING.ordinal()];
+        MOVE_DIRECTIONS[Piece.NONE.ordinal()] = new Offset[]{};
+    }
 
     /**
      * Constructs a GameState representing draughts' starting position.
@@ -58,7 +81,9 @@ public class GameState {
      * {@see https://en.wikipedia.org/wiki/Portable_Draughts_Notation#Tag_Pairs}.
      * FENs accepted by this constructor cannot have trailing periods.
      *
-     * This constructor will not always error out on invalid FENs.
+     * The FEN is parsed in a single pass without regular expressions or
+     * intermediate strings, since bulk tools parse millions of positions.
+     * Letters may be upper or lower case.
      *
      * @throws IllegalArgumentException FEN is invalid.
      * @param FEN Forsyth-Edwards Notation representation of a draughts position.
@@ -66,33 +91,87 @@ public class GameState {
     public GameState(String FEN) {
         state = new ArrayList<>(Collections.nCopies(32, Piece.NONE));
 
-        String[] fen = FEN.toUpperCase().split(":");
-        try {
-            activePlayer = fen[0];
-            assert(activePlayer.equals("W") || activePlayer.equals("B"));
+        int length = FEN.length();
+        if (length < 1 || (length > 1 && FEN.charAt(1) != ':')) {
+            throw new IllegalArgumentException("FEN active player must be \"W\" or \"B\"");
+        }
+        char player = Character.toUpperCase(FEN.charAt(0));
+        if (player != 'W' && player != 'B') {
+            throw new IllegalArgumentException("FEN active player must be \"W\" or \"B\"");
+        }
+        activePlayer = player == 'W' ? "W" : "B";
 
-            // Add white pieces.
-            for (String pieceStr : fen[1].substring(1).split(",")) {
-                if (pieceStr.equals("")) { continue; }
-                boolean isKing = pieceStr.startsWith("K");
+        // Parse the two piece lists, each of the form ":W1,K2,3".
+        int i = 1;
+        for (int list = 0; list < 2; list++) {
+            if (i + 1 >= length || FEN.charAt(i) != ':') {
+                throw new IllegalArgumentException("FEN must be a valid checkers FEN");
+            }
+            char color = Character.toUpperCase(FEN.charAt(i + 1));
+            if (color != 'W' && color != 'B') {
+                throw new IllegalArgumentException("FEN must be a valid checkers FEN");
+            }
+            i += 2;
+            while (i < length && FEN.charAt(i) != ':') {
+                char c = FEN.charAt(i);
+                if (c == ',') {
+                    i++;
+                    continue;
+                }
+                boolean isKing = c == 'K' || c == 'k';
+                if (isKing) { i++; }
+                int square = 0;
+                int digits = 0;
+                while (i < length && FEN.charAt(i) >= '0' && FEN.charAt(i) <= '9' && digits < 3) {
+                    square = square * 10 + (FEN.charAt(i) - '0');
+                    digits++;
+                    i++;
+                }
+                if (digits == 0 || square < 1 || square > 32
+                        || (i < length && FEN.charAt(i) != ',' && FEN.charAt(i) != ':')) {
+                    throw new IllegalArgumentException("FEN must be a valid checkers FEN");
+                }
                 // FENs are one-indexed and state is zero-indexed, so subtract 1.
-                int square = Integer.parseInt(isKing ? pieceStr.substring(1) : pieceStr) - 1;
-                state.set(square, isKing ? Piece.WHITE_KING : Piece.WHITE_MAN);
+                if (color == 'W') {
+                    state.set(square - 1, isKing ? Piece.WHITE_KING : Piece.WHITE_MAN);
+                } else {
+                    state.set(square - 1, isKing ? Piece.BLACK_KING : Piece.BLACK_MAN);
+                }
             }
+        }
+    }
 
-            // Add black pieces.
-            for (String pieceStr : fen[2].substring(1).split(",")) {
-                if (pieceStr.equals("")) { continue; }
-                boolean isKing = pieceStr.startsWith("K");
-                // FENs are one-indexed and state is zero-indexed, so subtract 1.
-                int square = Integer.parseInt(isKing ? pieceStr.substring(1) : pieceStr) - 1;
-                state.set(square, isKing ? Piece.BLACK_KING : Piece.BLACK_MAN);
+    /**
+     * Constructs a GameState from bitmasks of occupied squares.
+     *
+     * Bit i of each mask (counting from the least significant bit) is the
+     * square i+1 in standard draughts notation.
+     *
+     * @throws IllegalArgumentException a square holds both colors or a king mask bit has no piece.
+     * @param whitePieces Squares holding a white piece.
+     * @param blackPieces Squares holding a black piece.
+     * @param kings Squares holding a king of either color.
+     * @param activePlayer "W" or "B" for white and black, respectively.
+     */
+    public GameState(int whitePieces, int blackPieces, int kings, String activePlayer) {
+        if ((whitePieces & blackPieces) != 0 || (kings & ~(whitePieces | blackPieces)) != 0) {
+            throw new IllegalArgumentException("Bitmasks do not describe a valid position");
+        }
+        if (!("W".equals(activePlayer) || "B".equals(activePlayer))) {
+            throw new IllegalArgumentException("activePlayer must be \"W\" or \"B\"");
+        }
+        this.state = new ArrayList<>(32);
+        for (int i = 0; i < 32; i++) {
+            int bit = 1 << i;
+            if ((whitePieces & bit) != 0) {
+                state.add((kings & bit) != 0 ? Piece.WHITE_KING : Piece.WHITE_MAN);
+            } else if ((blackPieces & bit) != 0) {
+                state.add((kings & bit) != 0 ? Piece.BLACK_KING : Piece.BLACK_MAN);
+            } else {
+                state.add(Piece.NONE);
             }
-        } catch (AssertionError e) {
-            throw new IllegalArgumentException("FEN active player must be \"W\" or \"B\"");
-        } catch (IndexOutOfBoundsException | NumberFormatException e) {
-            throw new IllegalArgumentException("FEN must be a valid checkers FEN");
         }
+        this.activePlayer = activePlayer;
     }
 
     /**
@@ -103,6 +182,68 @@ public class GameState {
         return activePlayer;
     }
 
+    /**
+     * Gets the piece on a square.
+     *
+     * @param square Square in standard draughts notation (1-32).
+     * @return The piece on that square, or {@link Piece#NONE}.
+     */
+    public Piece getPiece(int square) {
+        // Squares are one-indexed and state is zero-indexed, so subtract one.
+        return state.get(square - 1);
+    }
+
+    /**
+     * Gets a bitmask of the squares holding white pieces.
+     *
+     * @return Mask with bit i set if square i+1 holds a white man or king.
+     * @see #GameState(int, int, int, String)
+     */
+    public int getWhitePieces() {
+        int mask = 0;
+        for (int i = 0; i < 32; i++) {
+            Piece piece = state.get(i);
+            if (piece == Piece.WHITE_MAN || piece == Piece.WHITE_KING) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Gets a bitmask of the squares holding black pieces.
+     *
+     * @return Mask with bit i set if square i+1 holds a black man or king.
+     * @see #GameState(int, int, int, String)
+     */
+    public int getBlackPieces() {
+        int mask = 0;
+        for (int i = 0; i < 32; i++) {
+            Piece piece = state.get(i);
+            if (piece == Piece.BLACK_MAN || piece == Piece.BLACK_KING) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Gets a bitmask of the squares holding kings of either color.
+     *
+     * @return Mask with bit i set if square i+1 holds a king.
+     * @see #GameState(int, int, int, String)
+     */
+    public int getKings() {
+        int mask = 0;
+        for (int i = 0; i < 32; i++) {
+            Piece piece = state.get(i);
+            if (piece == Piece.WHITE_KING || piece == Piece.BLACK_KING) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
     /**
      * Toggles the player who is moving on this turn between white and black.
      */
@@ -133,6 +274,112 @@ public class GameState {
         return moves;
     }
 
+    /**
+     * Finds all valid moves in the current position, keeping only one move
+     * for each distinct effect.
+     *
+     * Captures that start and end on the same squares and take the same
+     * pieces leave identical positions behind, so only the first such
+     * capture generated is kept as the representative.
+     *
+     * @return All valid moves with distinct effects.
+     */
+    public List<Move> generateDistinctLegalMoves() {
+        List<Move> moves = generateLegalMoves();
+        // Only multi-captures can take the same pieces along different paths.
+        boolean hasMultiCapture = false;
+        for (Move move : moves) {
+            if (move.getOffsets().size() >= 2) {
+                hasMultiCapture = true;
+                break;
+            }
+        }
+        if (moves.size() < 2 || !(hasMultiCapture)) {
+            return moves;
+        }
+        List<Move> distinct = new ArrayList<>(moves.size());
+        long[] effects = new long[moves.size()];
+        for (Move move : moves) {
+            long effect = getMoveEffect(move);
+            boolean duplicate = false;
+            for (int i = 0; i < distinct.size(); i++) {
+                if (effects[i] == effect) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (!(duplicate)) {
+                effects[distinct.size()] = effect;
+                distinct.add(move);
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Summarizes what a move does to the board, ignoring the path taken.
+     *
+     * @param move A legal move for this GameState.
+     * @return Start square, end square, and captured squares packed into a long.
+     *         Moves with equal effects leave identical positions.
+     */
+    public long getMoveEffect(Move move) {
+        int location = move.getStart() - 1;
+        long captured = 0;
+        for (Offset o : move.getOffsets()) {
+            int jumped = JUMPED[o.ordinal()][location];
+            if (jumped != -1) {
+                captured |= 1L << jumped;
+            }
+            location = NEIGHBORS[o.ordinal()][location];
+        }
+        return (move.getStart() - 1) | ((long) location << 5) | (captured << 10);
+    }
+
+    /**
+     * Finds the legal move described by a string in standard draughts notation.
+     *
+     * Both full ("15x24x31") and abbreviated ("15x31") jump notation are
+     * accepted. If several legal moves match abbreviated notation, the first
+     * one generated is returned.
+     *
+     * @throws IllegalArgumentException notation is malformed or matches no legal move.
+     * @param notation A move such as "11-15" or "22x15".
+     * @return The matching legal move.
+     */
+    public Move parseMove(String notation) {
+        String[] squareStrs = notation.trim().split("[-x]");
+        int[] squares = new int[squareStrs.length];
+        try {
+            for (int i = 0; i < squareStrs.length; i++) {
+                squares[i] = Integer.parseInt(squareStrs[i]);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed move notation: " + notation);
+        }
+        if (squares.length < 2) {
+            throw new IllegalArgumentException("Malformed move notation: " + notation);
+        }
+
+        for (Move move : generateLegalMoves()) {
+            if (move.getStart() != squares[0]) { continue; }
+            // Walk the move's path, checking off the squares given in the
+            // notation in order. The last square must be where the move ends.
+            int location = move.getStart() - 1;
+            int matched = 1;
+            for (Offset o : move.getOffsets()) {
+                location = NEIGHBORS[o.ordinal()][location];
+                if (matched < squares.length && squares[matched] == location + 1) {
+                    matched++;
+                }
+            }
+            if (matched == squares.length && squares[squares.length - 1] == location + 1) {
+                return move;
+            }
+        }
+        throw new IllegalArgumentException("Illegal move in position " + this + ": " + notation);
+    }
+
     /**
      * Finds all valid captures for the piece at a given square.
      *
@@ -164,14 +411,14 @@ public class GameState {
         }
 
         // Consider every direction this piece could theoretically jump.
-        for (Offset jumpDirection : pieceToJumpDirections.get(pieceOnSquare)) {
+        for (Offset jumpDirection : JUMP_DIRECTIONS[pieceOnSquare.ordinal()]) {
             // Ensure that the destination square is not occupied or out of bounds.
-            int endSquare = addOffsetToSquare(jumpDirection, index);
+            int endSquare = NEIGHBORS[jumpDirection.ordinal()][index];
             if (endSquare == -1 || state.get(endSquare) != Piece.NONE) {
                 continue;
             }
             // Ensure that there is a piece to capture in this jump.
-            int jumpedIndex = addOffsetToSquare(jumpToMove.get(jumpDirection), index);
+            int jumpedIndex = JUMPED[jumpDirection.ordinal()][index];
             if (!(canCapture.contains(state.get(jumpedIndex)))) {
                 continue;
             }
@@ -226,9 +473,9 @@ public class GameState {
         }
 
         // For each direction this piece could theoretically moves
-        for (Offset moveDirection : pieceToMoveDirections.get(pieceOnSquare)) {
+        for (Offset moveDirection : MOVE_DIRECTIONS[pieceOnSquare.ordinal()]) {
             // Ensure that the destination square isn't occupied or out of bounds.
-            int endSquare = addOffsetToSquare(moveDirection, index);
+            int endSquare = NEIGHBORS[moveDirection.ordinal()][index];
             if (endSquare != -1 && state.get(endSquare) == Piece.NONE) {
                 // This is a legal move! Add it to the list.
                 // Move is one-indexed, so add one to index.
@@ -255,26 +502,14 @@ public class GameState {
         Piece moved = state.get(location);
         state.set(location, Piece.NONE);    // Clear the starting square.
 
-        // Clear any jumped pieces. Our strategy: for every jump the moved
-        // piece makes, imagine it made a normal move in the same direction
-        // instead and clear the square it would land on.
+        // Clear any jumped pieces.
         for (Offset o : move.getOffsets()) {
-            switch (o) {
-                case JUMP_NORTHEAST:
-                    state.set(addOffsetToSquare(Offset.MOVE_NORTHEAST, location), Piece.NONE);
-                    break;
-                case JUMP_NORTHWEST:
-                    state.set(addOffsetToSquare(Offset.MOVE_NORTHWEST, location), Piece.NONE);
-                    break;
-                case JUMP_SOUTHEAST:
-                    state.set(addOffsetToSquare(Offset.MOVE_SOUTHEAST, location), Piece.NONE);
-                    break;
-                case JUMP_SOUTHWEST:
-                    state.set(addOffsetToSquare(Offset.MOVE_SOUTHWEST, location), Piece.NONE);
-                    break;
+            int jumped = JUMPED[o.ordinal()][location];
+            if (jumped != -1) {
+                state.set(jumped, Piece.NONE);
             }
             // Location after this move/jump.
-            location = addOffsetToSquare(o, location);
+            location = NEIGHBORS[o.ordinal()][location];
         }
 
         // Occupy the ending square, promoting as needed.
@@ -301,32 +536,27 @@ public class GameState {
      */
     @Override
     public String toString() {
-        StringBuilder whitePieces = new StringBuilder(":W");
-        StringBuilder blackPieces = new StringBuilder(":B");
+        StringBuilder whitePieces = new StringBuilder(64);
+        StringBuilder blackPieces = new StringBuilder(64);
         for (int i = 0; i < state.size(); i++) {
-            // FENs are one-indexed and state is zero-indexed, so add 1.
-            int fenValueOfSquare = i+1;
-            switch (state.get(i)) {
-                case NONE:
-                    break;
-                case WHITE_MAN:
-                    whitePieces.append(fenValueOfSquare).append(",");
-                    break;
-                case WHITE_KING:
-                    whitePieces.append("K").append(fenValueOfSquare).append(",");
-                    break;
-                case BLACK_MAN:
-                    blackPieces.append(fenValueOfSquare).append(",");
-                    break;
-                case BLACK_KING:
-                    blackPieces.append("K").append(fenValueOfSquare).append(",");
-                    break;
+            Piece piece = state.get(i);
+            if (piece == Piece.NONE) { continue; }
+            StringBuilder pieces = (piece == Piece.WHITE_MAN || piece == Piece.WHITE_KING) ? whitePieces : blackPieces;
+            // Separate pieces with commas, without a trailing comma.
+            if (pieces.length() > 0) {
+                pieces.append(',');
+            }
+            if (piece == Piece.WHITE_KING || piece == Piece.BLACK_KING) {
+                pieces.append('K');
             }
+            // FENs are one-indexed and state is zero-indexed, so add 1.
+            pieces.append(i + 1);
         }
-        // Join everything up. Remove the extra comma after each color's pieces.
-        return activePlayer
-                + whitePieces.toString().replaceAll(",$", "")
-                + blackPieces.toString().replaceAll(",$", "");
+        return new StringBuilder(activePlayer.length() + whitePieces.length() + blackPieces.length() + 4)
+                .append(activePlayer)
+                .append(":W").append(whitePieces)
+                .append(":B").append(blackPieces)
+                .toString();
     }
 
     @Override
@@ -337,17 +567,32 @@ public class GameState {
         return Objects.equals(state, gameState.state) && Objects.equals(activePlayer, gameState.activePlayer);
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(state, activePlayer);
+    }
+
     /**
      * Finds the end square for a given move type from a given square.
      *
      * This method accounts for idiosyncrasies in square numbering. Illegal inputs
      * (for example, those that would move a piece off the board) return -1.
+     * Results are looked up in a table computed once, so this is cheap enough
+     * for move generation's inner loops.
      *
      * @param offset Type of move to make.
      * @param index Square to make move from, represented by an index into state.
      * @return End square after the move, represented by an index into state.
      */
     protected static int addOffsetToSquare(Offset offset, int index) {
+        return index < 0 || index > 31 ? -1 : NEIGHBORS[offset.ordinal()][index];
+    }
+
+    /**
+     * Computes {@link #addOffsetToSquare(Offset, int)} from the board's
+     * geometry, to fill in the lookup tables.
+     */
+    private static int computeOffsetSquare(Offset offset, int index) {
         int row = index/4;
         int resultantSquare;
         switch (offset) {
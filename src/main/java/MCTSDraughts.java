@@ -2,7 +2,8 @@ public class MCTSDraughts {
 
     public static void main(String[] args) {
         if (args.length < 2) {
-            System.out.println("Usage: java -jar MCTSDraughts.jar [FEN] [Search Time (ms)]");
+            System.out.println("Usage: java -jar MCTSDraughts.jar [FEN] [Search Time (ms) | Iterations followed by i] "
+                    + "[Seed (optional)]");
         }
 
         GameState gs = null;
@@ -13,20 +14,35 @@ public class MCTSDraughts {
             System.exit(1);
         }
 
-        long duration = 0;
+        // A budget such as "20000i" counts iterations rather than milliseconds.
+        boolean countIterations = args[1].endsWith("i");
+        long budget = 0;
         try {
-            duration = Integer.parseInt(args[1]);
+            budget = Long.parseLong(countIterations ? args[1].substring(0, args[1].length() - 1) : args[1]);
         } catch (NumberFormatException e) {
-            System.out.println("Please input a valid duration in argument 1");
+            System.out.println("Please input a valid duration or iteration count in argument 1");
             System.exit(1);
         }
 
+        Long seed = null;
+        if (args.length > 2) {
+            try {
+                seed = Long.parseLong(args[2]);
+            } catch (NumberFormatException e) {
+                System.out.println("Please input a valid seed in argument 2");
+                System.exit(1);
+            }
+        }
+
         try {
             MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
-            long endTime = System.currentTimeMillis() + duration;
-
-            while (System.currentTimeMillis() < endTime) {
-                searcher.searchOnce();
+            if (seed != null) {
+                searcher.setSeed(seed);
+            }
+            if (countIterations) {
+                searcher.searchIterations(budget);
+            } else {
+                searcher.search(budget);
             }
 
             System.out.println("Best Moves: " + searcher.getBestMoves());
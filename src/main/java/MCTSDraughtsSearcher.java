@@ -1,14 +1,49 @@
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 /**
  * Performs full iterations of Monte Carlo Tree Search with UCT for draughts.
  */
 public class MCTSDraughtsSearcher {
 
-    private final MCTSNode root;
+    private MCTSNode root;
     private double explorationParameter;
+    private boolean collapseEquivalentCaptures = false;
+    private boolean solverEnabled = true;
+    private boolean raveEnabled = false;
+    private PlayoutPolicy playoutPolicy = new UniformRandomPolicy();
+    private AlphaBetaSolver leafSolver = null;
+    private int leafSolverPieceThreshold = 0;
+    private StaticEvaluator staticEvaluator = null;
+    private int priorVisits = 0;
+    private double progressiveBias = 0;
+    private double raveEquivalence = 1000;
+    private BatchPlayout batchPlayout = null;
+    private int batchSize = 0;
+    // Per-game inputs and outputs of batch playouts, reused between leaves.
+    private int[] batchWhitePieces, batchBlackPieces, batchKings, batchSeeds;
+    private boolean[] batchWhiteToMove, batchWhiteWins;
+    // Moves made in the latest playout, recorded only when RAVE is enabled.
+    private final List<Move> playoutMoves = new ArrayList<>();
+    // Source of every random choice, so that a seeded search is reproducible.
+    private final Random random = new Random();
+
+    private final List<SearchProgressListener> progressListeners = new ArrayList<>();
+    private long progressIntervalMillis = 1000;
+    private long iterations;
+    // Cost of playouts, for comparing playout policies within real searches.
+    private long playouts;
+    private long playoutPlies;
+    private long playoutNanos;
+    // Start of the current search, for reporting its speed.
+    private long searchStartNanos = -1;
+    private long searchStartIterations;
+    private long nextProgressNanos;
+    private volatile boolean stopRequested;
 
     /**
      * Constructs a new MCTSDraughtsSearcher.
@@ -17,64 +52,340 @@ public class MCTSDraughtsSearcher {
      * @param explorationParameter Constant parameter used in MCTS to balance exploration and exploitation.
      */
     public MCTSDraughtsSearcher(GameState gameState, double explorationParameter) {
-        root = new MCTSNode(0, 0, null, new ArrayList<>(), gameState);
+        this(new MCTSNode(0, 0, null, new ArrayList<>(), gameState), explorationParameter);
+    }
+
+    /**
+     * Constructs a MCTSDraughtsSearcher that continues searching an existing tree.
+     *
+     * Every node in the tree must hold its game state, and every node but
+     * the root the move leading to it, as built by {@link #expand(MCTSNode)}.
+     *
+     * @param root Root of the tree to search; its parent must be null.
+     * @param explorationParameter Constant parameter used in MCTS to balance exploration and exploitation.
+     * @see SearchTreeCheckpoint
+     */
+    public MCTSDraughtsSearcher(MCTSNode root, double explorationParameter) {
+        if (!(root.isRoot()) || root.getData() == null) {
+            throw new IllegalArgumentException("root must be a root node holding a game state");
+        }
+        this.root = root;
+        clearUnexpandedProof(root);
         setExplorationParameter(explorationParameter);
     }
 
     /**
      * Returns the best move (or moves if a tie occurs) according to current search results.
      *
+     * With the solver enabled, which is the default, moves are ranked by
+     * proof before visits: proven wins are returned whatever their visits,
+     * and proven losses are passed over unless every move is lost. Only
+     * with the solver disabled are moves ranked by visits alone.
+     *
      * @return the best move(s).
      */
     public List<Move> getBestMoves() {
-        // Find the most visited child game states.
-        List<GameState> bestStates = new ArrayList<>();
+        List<Move> bestMoves = new ArrayList<>();
+        if (solverEnabled) {
+            // A proven win needs no further comparison.
+            for (MCTSNode child : root.getChildren()) {
+                if (child.getProofStatus() == ProofStatus.WIN) {
+                    bestMoves.add(child.getMove());
+                }
+            }
+            if (!(bestMoves.isEmpty())) { return bestMoves; }
+        }
+
+        // Find the moves leading to the most visited children, passing over
+        // proven losses unless nothing else is left.
+        boolean allLost = true;
+        for (MCTSNode child : root.getChildren()) {
+            if (child.getProofStatus() != ProofStatus.LOSS) {
+                allLost = false;
+                break;
+            }
+        }
         int maxVisits = Integer.MIN_VALUE;
         for (MCTSNode child : root.getChildren()) {
+            if (solverEnabled && !allLost && child.getProofStatus() == ProofStatus.LOSS) { continue; }
             if (child.getVisits() > maxVisits) {
-                bestStates.clear();
+                bestMoves.clear();
                 maxVisits = child.getVisits();
             }
 
             if (child.getVisits() >= maxVisits) {
-                bestStates.add(child.getData());
+                bestMoves.add(child.getMove());
             }
         }
+        return bestMoves;
+    }
 
-        // MCTSNodes don't store move data, so reverse-engineer the moves.
-        // For all possible moves, check if the state after making the move
-        // is in the list of most visited game states.
-        List<Move> bestMoves = new ArrayList<>();
-        for (Move move : root.getData().generateLegalMoves()) {
-            GameState gameState = new GameState(root.getData());
-            gameState.makeMove(move);
-            gameState.swapActivePlayer();
-            if (bestStates.contains(gameState)) {
-                bestMoves.add(move);
+    /**
+     * Returns the line of play the search currently expects.
+     *
+     * Starting from the root, the most visited child is followed until an
+     * unexpanded node is reached. Ties go to the first child found.
+     *
+     * @return Moves of the principal variation, starting with the root move.
+     */
+    public List<Move> getPrincipalVariation() {
+        List<Move> principalVariation = new ArrayList<>();
+        MCTSNode node = root;
+        while (!(node.isLeaf())) {
+            MCTSNode mostVisited = null;
+            for (MCTSNode child : node.getChildren()) {
+                if (mostVisited == null || child.getVisits() > mostVisited.getVisits()) {
+                    mostVisited = child;
+                }
             }
+            if (mostVisited.getVisits() == 0) { break; }
+            principalVariation.add(mostVisited.getMove());
+            node = mostVisited;
         }
+        return principalVariation;
+    }
 
-        return bestMoves;
+    /**
+     * Returns the visits, value, and proven outcome of every move from the root position.
+     *
+     * @return Statistics for every expanded root move.
+     */
+    public List<MoveStatistics> getRootStatistics() {
+        List<MoveStatistics> statistics = new ArrayList<>();
+        for (MCTSNode child : root.getChildren()) {
+            statistics.add(new MoveStatistics(child.getMove(), child.getVisits(), child.getValue(),
+                    solverEnabled ? child.getProofStatus() : ProofStatus.UNPROVEN));
+        }
+        return statistics;
+    }
+
+    /**
+     * Takes a snapshot of the search in its current state.
+     *
+     * @return Current best moves, principal variation, root statistics, and speed.
+     */
+    public SearchProgress getProgress() {
+        long elapsedMillis = searchStartNanos < 0 ? 0 : (System.nanoTime() - searchStartNanos) / 1_000_000;
+        return new SearchProgress(iterations - searchStartIterations, elapsedMillis, getBestMoves(),
+                getPrincipalVariation(), getRootStatistics(), isSolved());
+    }
+
+    /**
+     * Searches until the given time has passed or {@link #stop()} is called.
+     *
+     * Progress listeners receive a final snapshot when the search ends.
+     *
+     * @param durationMillis Maximum time to search in milliseconds.
+     */
+    public void search(long durationMillis) {
+        stopRequested = false;
+        startSearch();
+        long endTime = System.currentTimeMillis() + durationMillis;
+        while (!stopRequested && !isSolved() && System.currentTimeMillis() < endTime) {
+            searchOnce();
+        }
+        publishProgress();
+    }
+
+    /**
+     * Searches until the given number of iterations have been performed or
+     * {@link #stop()} is called.
+     *
+     * Unlike {@link #search(long)}, the work done doesn't depend on the
+     * machine's speed, so a seeded search gives identical results every time.
+     * Progress listeners receive a final snapshot when the search ends.
+     *
+     * @param maxIterations Maximum number of iterations to perform.
+     */
+    public void searchIterations(long maxIterations) {
+        stopRequested = false;
+        startSearch();
+        for (long i = 0; i < maxIterations && !stopRequested && !isSolved(); i++) {
+            searchOnce();
+        }
+        publishProgress();
+    }
+
+    /**
+     * Starts timing a new search, so that time spent between searches
+     * (such as after {@link #advance(Move)}) isn't counted in its speed.
+     */
+    private void startSearch() {
+        searchStartNanos = System.nanoTime();
+        searchStartIterations = iterations;
+        nextProgressNanos = searchStartNanos + progressIntervalMillis * 1_000_000;
+    }
+
+    /**
+     * Checks if the search has proven the outcome of the root position.
+     *
+     * Once solved, further iterations can't change the best move, so
+     * {@link #search(long)} and {@link #searchIterations(long)} return early
+     * and {@link #searchOnce()} does nothing. Callers that loop on
+     * {@link #searchOnce()} themselves should stop when this returns true.
+     *
+     * @return Whether the solver is enabled and the root is a proven win or loss.
+     */
+    public boolean isSolved() {
+        return solverEnabled && root.isProven();
+    }
+
+    /**
+     * Asks a running {@link #search(long)} to return after its current iteration.
+     *
+     * This method may be called from any thread, including from a progress listener.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Moves the root of the search forward by one move, keeping the subtree
+     * below that move so its statistics carry over to the next position.
+     *
+     * If the move has not been expanded yet, the search starts over from the
+     * resulting position. A child proven by the leaf solver has no children
+     * to choose a move from, so its proof is dropped and the search
+     * continues, proving it again from its own children.
+     *
+     * @param move A legal move from the current root position.
+     */
+    public void advance(Move move) {
+        for (MCTSNode child : root.getChildren()) {
+            if (move.equals(child.getMove())) {
+                child.setParent(null);
+                child.setMove(null);
+                root = child;
+                clearUnexpandedProof(root);
+                return;
+            }
+        }
+        GameState gameState = new GameState(root.getData());
+        gameState.makeMove(move);
+        gameState.swapActivePlayer();
+        root = new MCTSNode(0, 0, null, new ArrayList<>(), gameState);
+    }
+
+    /**
+     * Drops the proof of a root that was proven without being expanded.
+     *
+     * Such a root would count as solved while having no best moves, and
+     * no further iterations would run. Roots without legal moves keep
+     * their proof, since they have no moves to choose from anyway.
+     *
+     * @param root The root of the search tree.
+     */
+    private static void clearUnexpandedProof(MCTSNode root) {
+        if (root.isProven() && root.isLeaf() && !(root.getData().generateLegalMoves().isEmpty())) {
+            root.setProofStatus(ProofStatus.UNPROVEN);
+        }
+    }
+
+    /**
+     * Gets the root of the search tree.
+     *
+     * @return The node holding the position being searched.
+     */
+    public MCTSNode getRoot() {
+        return root;
+    }
+
+    /**
+     * Gets the position being searched.
+     *
+     * @return Game state at the root of the search tree.
+     */
+    public GameState getRootState() {
+        return root.getData();
     }
 
     /**
      * Performs one iteration of Monte Carlo Tree Search with UCT.
+     *
+     * Does nothing once the search {@link #isSolved()}, so it doesn't
+     * count towards {@link #getIterations()} either.
      */
     public void searchOnce() {
+        if (searchStartNanos < 0) {
+            startSearch();
+        }
+
+        if (isSolved()) { return; }
+
         MCTSNode toExpand = select(root);
         MCTSNode toSimulate = expand(toExpand);
-        String winner = simulate(toSimulate);
-
-        if (winner.equals(toSimulate.getData().getActivePlayer())) {
-            backpropagate(0.0, toSimulate);
-        } else {
+        GameState gs = toSimulate.getData();
+        if (solverEnabled && toSimulate.isLeaf() && toSimulate == toExpand) {
+            // The player to move has no legal moves, so the player who moved
+            // into this node has won.
+            toSimulate.setProofStatus(ProofStatus.WIN);
             backpropagate(1.0, toSimulate);
+            propagateProof(toSimulate);
+            if (raveEnabled) {
+                playoutMoves.clear();
+                updateAmaf(toSimulate, gs.getActivePlayer().equals("W") ? "B" : "W", playoutMoves);
+            }
+        } else if (leafSolver != null
+                && Integer.bitCount(gs.getWhitePieces() | gs.getBlackPieces()) <= leafSolverPieceThreshold) {
+            // Few pieces remain, so a short exact search beats a long random playout.
+            int score = leafSolver.search(gs);
+            double activeWinProbability = AlphaBetaSolver.toWinProbability(score);
+            backpropagate(1.0 - activeWinProbability, toSimulate);
+            if (solverEnabled && AlphaBetaSolver.isProvenWin(score)) {
+                toSimulate.setProofStatus(ProofStatus.LOSS);
+                propagateProof(toSimulate);
+            } else if (solverEnabled && AlphaBetaSolver.isProvenLoss(score)) {
+                toSimulate.setProofStatus(ProofStatus.WIN);
+                propagateProof(toSimulate);
+            }
+            if (raveEnabled) {
+                playoutMoves.clear();
+                String active = gs.getActivePlayer();
+                updateAmaf(toSimulate, activeWinProbability >= 0.5 ? active : (active.equals("W") ? "B" : "W"),
+                        playoutMoves);
+            }
+        } else if (batchPlayout != null) {
+            backpropagate(simulateBatch(toSimulate), toSimulate);
+        } else {
+            String winner = simulate(toSimulate);
+
+            if (winner.equals(gs.getActivePlayer())) {
+                backpropagate(0.0, toSimulate);
+            } else {
+                backpropagate(1.0, toSimulate);
+            }
+            if (raveEnabled) {
+                updateAmaf(toSimulate, winner, playoutMoves);
+            }
+        }
+
+        iterations++;
+        if (!(progressListeners.isEmpty()) && System.nanoTime() >= nextProgressNanos) {
+            publishProgress();
+            nextProgressNanos = System.nanoTime() + progressIntervalMillis * 1_000_000;
+        }
+    }
+
+    /**
+     * Sends a snapshot of the search to every progress listener.
+     *
+     * Listeners run on the searching thread, so the search is paused while
+     * the snapshot is built and for as long as the listeners take.
+     */
+    private void publishProgress() {
+        if (progressListeners.isEmpty()) { return; }
+        SearchProgress progress = getProgress();
+        for (SearchProgressListener listener : progressListeners) {
+            listener.onProgress(progress);
         }
     }
 
     /**
      * Selects a leaf node of the given mode using UCT.
      *
+     * When the solver is enabled, proven children are never selected since
+     * more playouts can't change their outcome.
+     *
      * @param node Node to search from.
      * @return Best node to expand and simulate per UCT.
      */
@@ -84,13 +395,23 @@ public class MCTSDraughtsSearcher {
             MCTSNode highNode = null;
             double highUCTValue = Double.NEGATIVE_INFINITY;
             for (MCTSNode child: node.getChildren()) {
-                double UCTValue = child.getUCTValue(getExplorationParameter());
+                if (solverEnabled && child.isProven()) { continue; }
+                double UCTValue = raveEnabled
+                        ? child.getRAVEValue(getExplorationParameter(), raveEquivalence)
+                        : child.getUCTValue(getExplorationParameter());
+                if (staticEvaluator != null) {
+                    // Progressive bias: trust the evaluator less as visits accumulate.
+                    UCTValue += progressiveBias * child.getHeuristicValue()
+                            / (child.getVisits() + child.getPriorVisits() + 1);
+                }
                 if (UCTValue > highUCTValue) {
                     highNode = child;
                     highUCTValue = UCTValue;
                     if (highUCTValue == Double.POSITIVE_INFINITY) { break; }
                 }
             }
+            // Every child is proven, so this node is too.
+            if (highNode == null) { break; }
             node = highNode;
         }
         return node;
@@ -107,11 +428,18 @@ public class MCTSDraughtsSearcher {
     public MCTSNode expand(MCTSNode node) {
         // Create child nodes.
         GameState gs = node.getData();
-        for (Move move : gs.generateLegalMoves()) {
+        List<Move> moves = collapseEquivalentCaptures ? gs.generateDistinctLegalMoves() : gs.generateLegalMoves();
+        for (Move move : moves) {
             GameState newNodeGameState = new GameState(gs);
             newNodeGameState.makeMove(move);
             newNodeGameState.swapActivePlayer();
-            MCTSNode newNode = new MCTSNode(0, 0, node, new ArrayList<>(), newNodeGameState);
+            MCTSNode newNode = new MCTSNode(0, 0, node, new ArrayList<>(), newNodeGameState).setMove(move);
+            if (staticEvaluator != null) {
+                // The evaluation is for the player to move in the child, who
+                // is the opponent of the player the node's value belongs to.
+                double heuristicValue = 1.0 - staticEvaluator.evaluate(newNodeGameState);
+                newNode.setHeuristicValue(heuristicValue).setPriorVisits(priorVisits);
+            }
             node.addChild(newNode);
         }
 
@@ -119,33 +447,78 @@ public class MCTSDraughtsSearcher {
         // If this node is terminal, return it instead of a child/
         if (children.size() == 0) { return node; }
         // Randomly select a child to simulate.
-        final Random rand = new Random();
-        return children.get(rand.nextInt(children.size()));
+        return children.get(random.nextInt(children.size()));
     }
 
     /**
-     * Performs a random playout from a given node.
+     * Performs a playout from a given node, choosing moves with the playout policy.
+     *
+     * When RAVE is enabled, the moves made are recorded for
+     * {@link #updateAmaf(MCTSNode, String, List)}.
      *
      * @param node Node to simulate from.
      * @return The winner of the simulation, represented by "W" for wite or "B" for black.
      */
     public String simulate(MCTSNode node) {
-        final Random rand = new Random();
+        long startNanos = System.nanoTime();
         final int maxMoves = 1000;
         int count = 0;
         GameState gs = new GameState(node.getData());
+        playoutMoves.clear();
         while (count < maxMoves) {
-            count++;
             List<Move> legalMoves = gs.generateLegalMoves();
             if (legalMoves.size() == 0) { break; }
-            Move toMake = legalMoves.get(rand.nextInt(legalMoves.size()));
+            count++;
+            Move toMake = playoutPolicy.chooseMove(gs, legalMoves, random);
+            if (raveEnabled) {
+                playoutMoves.add(toMake);
+            }
             gs.makeMove(toMake);
             gs.swapActivePlayer();
         }
+        playouts++;
+        playoutPlies += count;
+        playoutNanos += System.nanoTime() - startNanos;
         gs.swapActivePlayer(); // Return the winner, not the loser.
         return gs.getActivePlayer();
     }
 
+    /**
+     * Plays a batch of random games from a node with the batch playout kernel.
+     *
+     * The whole batch counts as a single visit whose outcome is the
+     * fraction of games won, which averages away much of the noise of a
+     * single playout.
+     *
+     * @param node Node to simulate from.
+     * @return Fraction of games won by the player who moved into the node.
+     */
+    public double simulateBatch(MCTSNode node) {
+        long startNanos = System.nanoTime();
+        GameState gs = node.getData();
+        boolean whiteToMove = gs.getActivePlayer().equals("W");
+        Arrays.fill(batchWhitePieces, gs.getWhitePieces());
+        Arrays.fill(batchBlackPieces, gs.getBlackPieces());
+        Arrays.fill(batchKings, gs.getKings());
+        Arrays.fill(batchWhiteToMove, whiteToMove);
+        for (int i = 0; i < batchSize; i++) {
+            batchSeeds[i] = random.nextInt();
+        }
+        batchPlayout.playout(batchWhitePieces, batchBlackPieces, batchKings, batchWhiteToMove, batchSeeds,
+                batchSize, batchWhiteWins);
+        playouts += batchSize;
+        playoutNanos += System.nanoTime() - startNanos;
+
+        int wins = 0;
+        for (int i = 0; i < batchSize; i++) {
+            // The player who moved into the node is the one not to move.
+            if (batchWhiteWins[i] != whiteToMove) {
+                wins++;
+            }
+        }
+        return (double) wins / batchSize;
+    }
+
     /**
      * Updates a node and its parents with a game outcome.
      *
@@ -164,6 +537,69 @@ public class MCTSDraughtsSearcher {
         }
     }
 
+    /**
+     * Updates all-moves-as-first statistics along the path to a node.
+     *
+     * For every node on the path from the given node to the root, each
+     * child whose move was made by that node's active player at any later
+     * point in the iteration (further down the path or in the playout) is
+     * credited with the playout's outcome.
+     *
+     * @param node Node the playout started from.
+     * @param winner Winner of the playout, "W" or "B".
+     * @param playout Moves made in the playout, in order, starting with node's active player.
+     */
+    protected void updateAmaf(MCTSNode node, String winner, List<Move> playout) {
+        Set<Move> whiteMoves = new HashSet<>();
+        Set<Move> blackMoves = new HashSet<>();
+        boolean whiteMoving = node.getData().getActivePlayer().equals("W");
+        for (Move move : playout) {
+            (whiteMoving ? whiteMoves : blackMoves).add(move);
+            whiteMoving = !whiteMoving;
+        }
+
+        while (node != null) {
+            boolean whiteActive = node.getData().getActivePlayer().equals("W");
+            Set<Move> movesByActive = whiteActive ? whiteMoves : blackMoves;
+            double outcome = winner.equals(node.getData().getActivePlayer()) ? 1.0 : 0.0;
+            for (MCTSNode child : node.getChildren()) {
+                if (movesByActive.contains(child.getMove())) {
+                    child.setAmafVisits(child.getAmafVisits() + 1);
+                    child.setAmafValue(child.getAmafValue() + outcome);
+                }
+            }
+            // The move into this node was made by the other player.
+            if (node.getMove() != null) {
+                (whiteActive ? blackMoves : whiteMoves).add(node.getMove());
+            }
+            node = node.getParent();
+        }
+    }
+
+    /**
+     * Marks the ancestors of a newly proven node whose outcomes are now proven.
+     *
+     * A node is a proven loss if any child is a proven win for the player
+     * to move there, and a proven win if every child is a proven loss.
+     *
+     * @param node A node that was just proven.
+     */
+    protected void propagateProof(MCTSNode node) {
+        MCTSNode parent = node.getParent();
+        while (parent != null) {
+            if (node.getProofStatus() == ProofStatus.WIN) {
+                parent.setProofStatus(ProofStatus.LOSS);
+            } else {
+                for (MCTSNode sibling : parent.getChildren()) {
+                    if (sibling.getProofStatus() != ProofStatus.LOSS) { return; }
+                }
+                parent.setProofStatus(ProofStatus.WIN);
+            }
+            node = parent;
+            parent = node.getParent();
+        }
+    }
+
     public double getExplorationParameter() {
         return explorationParameter;
     }
@@ -172,4 +608,277 @@ public class MCTSDraughtsSearcher {
         this.explorationParameter = explorationParameter;
     }
 
+    public boolean getCollapseEquivalentCaptures() {
+        return collapseEquivalentCaptures;
+    }
+
+    /**
+     * Sets whether captures with the same effect share one child node.
+     *
+     * When enabled, {@link #expand(MCTSNode)} uses
+     * {@link GameState#generateDistinctLegalMoves()}, so multi-captures that
+     * take the same pieces along different paths don't split visits between
+     * identical positions.
+     *
+     * @param collapseEquivalentCaptures Whether to collapse equivalent captures.
+     */
+    public void setCollapseEquivalentCaptures(boolean collapseEquivalentCaptures) {
+        this.collapseEquivalentCaptures = collapseEquivalentCaptures;
+    }
+
+    public boolean isSolverEnabled() {
+        return solverEnabled;
+    }
+
+    /**
+     * Sets whether proven wins and losses are tracked (MCTS-Solver).
+     *
+     * With the solver enabled, positions without legal moves are proven
+     * wins for the player who moved into them, proofs are propagated up
+     * the tree, proven subtrees are skipped during selection, a proven
+     * winning move is always a best move, and searches stop once the root
+     * is proven. Enabled by default, so best moves are ranked by proof
+     * before visits; see {@link #getBestMoves()}.
+     *
+     * @param solverEnabled Whether to use the solver.
+     */
+    public void setSolverEnabled(boolean solverEnabled) {
+        this.solverEnabled = solverEnabled;
+    }
+
+    public BatchPlayout getBatchPlayout() {
+        return batchPlayout;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets a kernel that evaluates leaves with batches of random playouts.
+     *
+     * Batch playouts are uniformly random, so they replace the playout
+     * policy, and they don't record moves for RAVE.
+     *
+     * @param batchPlayout Kernel to use, such as {@link BatchPlayout#create()}, or null for single playouts.
+     * @param batchSize Games per leaf; a multiple of the kernel's vector width is most efficient.
+     */
+    public void setBatchPlayout(BatchPlayout batchPlayout, int batchSize) {
+        if (batchPlayout != null && batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be >=1");
+        }
+        this.batchPlayout = batchPlayout;
+        this.batchSize = batchPlayout == null ? 0 : batchSize;
+        batchWhitePieces = new int[this.batchSize];
+        batchBlackPieces = new int[this.batchSize];
+        batchKings = new int[this.batchSize];
+        batchSeeds = new int[this.batchSize];
+        batchWhiteToMove = new boolean[this.batchSize];
+        batchWhiteWins = new boolean[this.batchSize];
+    }
+
+    public PlayoutPolicy getPlayoutPolicy() {
+        return playoutPolicy;
+    }
+
+    /**
+     * Sets how moves are chosen during playouts.
+     *
+     * @param playoutPolicy Policy to use; {@link UniformRandomPolicy} by default.
+     */
+    public void setPlayoutPolicy(PlayoutPolicy playoutPolicy) {
+        this.playoutPolicy = playoutPolicy;
+    }
+
+    public AlphaBetaSolver getLeafSolver() {
+        return leafSolver;
+    }
+
+    public int getLeafSolverPieceThreshold() {
+        return leafSolverPieceThreshold;
+    }
+
+    /**
+     * Sets an alpha-beta solver to evaluate leaves with few pieces instead of playouts.
+     *
+     * Leaves with at most the given number of pieces on the board are
+     * scored by the solver. Proven results are fed to the MCTS-Solver when
+     * it is enabled; other results are backpropagated as fractional outcomes.
+     *
+     * @param leafSolver Solver to use, or null to always use playouts.
+     * @param pieceThreshold Largest total number of pieces for which the solver is used.
+     */
+    public void setLeafSolver(AlphaBetaSolver leafSolver, int pieceThreshold) {
+        this.leafSolver = leafSolver;
+        this.leafSolverPieceThreshold = pieceThreshold;
+    }
+
+    public StaticEvaluator getStaticEvaluator() {
+        return staticEvaluator;
+    }
+
+    public int getPriorVisits() {
+        return priorVisits;
+    }
+
+    public double getProgressiveBias() {
+        return progressiveBias;
+    }
+
+    /**
+     * Sets a static evaluator to seed new nodes and bias selection.
+     *
+     * Each new child starts with the given number of virtual visits, won
+     * in proportion to its static evaluation, so children can be ranked
+     * before every one has been played out. Virtual visits only count
+     * during selection, not in reported visits or best moves. Selection
+     * also adds progressiveBias * evaluation / (visits + 1) to each child's
+     * value, counting virtual visits, a nudge that fades as real visits
+     * accumulate.
+     *
+     * @param staticEvaluator Evaluator to use, or null to disable priors and progressive bias.
+     * @param priorVisits Virtual visits given to each new child.
+     * @param progressiveBias Weight of the progressive bias term.
+     */
+    public void setStaticEvaluator(StaticEvaluator staticEvaluator, int priorVisits, double progressiveBias) {
+        if (priorVisits < 0) {
+            throw new IllegalArgumentException("priorVisits must be non-negative");
+        }
+        this.staticEvaluator = staticEvaluator;
+        this.priorVisits = priorVisits;
+        this.progressiveBias = progressiveBias;
+    }
+
+    public boolean isRaveEnabled() {
+        return raveEnabled;
+    }
+
+    /**
+     * Sets whether selection uses Rapid Action Value Estimation (RAVE).
+     *
+     * With RAVE enabled, every iteration also updates all-moves-as-first
+     * statistics for moves made later in the iteration, and selection blends
+     * them into each child's value per {@link MCTSNode#getRAVEValue(double, double)}.
+     *
+     * @param raveEnabled Whether to use RAVE.
+     */
+    public void setRaveEnabled(boolean raveEnabled) {
+        this.raveEnabled = raveEnabled;
+    }
+
+    public double getRaveEquivalence() {
+        return raveEquivalence;
+    }
+
+    /**
+     * Sets how quickly RAVE statistics give way to real statistics.
+     *
+     * @param raveEquivalence Number of visits at which real and AMAF statistics weigh about the same.
+     */
+    public void setRaveEquivalence(double raveEquivalence) {
+        if (raveEquivalence <= 0) {
+            throw new IllegalArgumentException("raveEquivalence must be positive");
+        }
+        this.raveEquivalence = raveEquivalence;
+    }
+
+    /**
+     * Registers a listener to receive periodic snapshots of the search.
+     *
+     * @param listener Listener to call every progress interval.
+     */
+    public void addProgressListener(SearchProgressListener listener) {
+        progressListeners.add(listener);
+    }
+
+    public void removeProgressListener(SearchProgressListener listener) {
+        progressListeners.remove(listener);
+    }
+
+    public long getProgressIntervalMillis() {
+        return progressIntervalMillis;
+    }
+
+    /**
+     * Sets how often progress listeners are called.
+     *
+     * @param progressIntervalMillis Minimum time between snapshots in milliseconds.
+     */
+    public void setProgressIntervalMillis(long progressIntervalMillis) {
+        if (progressIntervalMillis < 0) {
+            throw new IllegalArgumentException("progressIntervalMillis must be non-negative");
+        }
+        this.progressIntervalMillis = progressIntervalMillis;
+    }
+
+    /**
+     * Seeds the source of randomness used to pick children and play out games.
+     *
+     * Searchers seeded alike and given the same position, settings, and
+     * number of iterations build identical trees.
+     *
+     * @param seed Seed for the random number generator.
+     */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /**
+     * Derives independent seeds for several searchers from one seed.
+     *
+     * Searchers running in parallel should each get their own stream, such
+     * as a thread, game, or worker number, so that they don't repeat each
+     * other's playouts while the whole run stays reproducible.
+     *
+     * @param seed Seed for the whole run.
+     * @param stream Number identifying one searcher in the run.
+     * @return Seed for that searcher.
+     */
+    public static long deriveSeed(long seed, long stream) {
+        // SplitMix64's finalizer spreads nearby streams far apart.
+        long z = seed + (stream + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Gets the number of iterations performed by this searcher.
+     *
+     * @return Total calls to {@link #searchOnce()}.
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Gets the number of playouts performed by this searcher.
+     *
+     * @return Single playouts plus every game of every batch playout.
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Gets the number of moves made in playouts.
+     *
+     * @return Moves made in single playouts; batch playouts don't report them.
+     */
+    public long getPlayoutPlies() {
+        return playoutPlies;
+    }
+
+    /**
+     * Gets the time spent in playouts.
+     *
+     * Divided by {@link #getPlayouts()} or {@link #getPlayoutPlies()}, this
+     * gives the cost of the playout policy in a real search.
+     *
+     * @return Nanoseconds spent in single and batch playouts.
+     */
+    public long getPlayoutNanos() {
+        return playoutNanos;
+    }
+
 }
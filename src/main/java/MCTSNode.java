@@ -8,6 +8,12 @@ public class MCTSNode extends Node<MCTSNode, GameState> {
 
     private double value;
     private int visits;
+    private Move move;
+    private ProofStatus proofStatus = ProofStatus.UNPROVEN;
+    private double amafValue;
+    private int amafVisits;
+    private double heuristicValue;
+    private int priorVisits;
 
     /**
      * Constructs an MCTSNode.
@@ -54,14 +60,53 @@ public class MCTSNode extends Node<MCTSNode, GameState> {
      * @return UCT value of this node.
      */
     public double getUCTValue(double explorationParameter) {
-        if (isRoot() || getVisits() == 0) {
+        int effectiveVisits = getVisits() + getPriorVisits();
+        if (isRoot() || effectiveVisits == 0) {
             return Double.POSITIVE_INFINITY;
         }
-        double exploitation = getValue() / getVisits();
-        double exploration = explorationParameter * Math.sqrt(Math.log(getParent().getVisits()) / getVisits());
+        double exploitation = getEffectiveValue() / effectiveVisits;
+        double parentVisits = Math.max(1, getParent().getVisits());
+        double exploration = explorationParameter * Math.sqrt(Math.log(parentVisits) / effectiveVisits);
         return exploitation + exploration;
     }
 
+    /**
+     * Gets the value of this node, blending UCT with all-moves-as-first (AMAF) statistics.
+     *
+     * The AMAF estimate is weighted by
+     * sqrt(equivalence / (3 * visits + equivalence)), so it dominates while
+     * the node has few visits and fades as real visits accumulate. Unvisited
+     * nodes with AMAF statistics are scored as if visited once, so they need
+     * not all be tried before the search can tell them apart.
+     *
+     * If the node is the root node or has neither visits nor AMAF visits,
+     * its value is {@link Double#POSITIVE_INFINITY}.
+     *
+     * @param explorationParameter UCT value used to balance exploration and exploitation.
+     * @param raveEquivalence Number of visits at which real and AMAF statistics weigh about the same.
+     * @return RAVE value of this node.
+     */
+    public double getRAVEValue(double explorationParameter, double raveEquivalence) {
+        int effectiveVisits = getVisits() + getPriorVisits();
+        if (isRoot() || (effectiveVisits == 0 && getAmafVisits() == 0)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double beta = Math.sqrt(raveEquivalence / (3.0 * effectiveVisits + raveEquivalence));
+        double mean = effectiveVisits == 0 ? 0.0 : getEffectiveValue() / effectiveVisits;
+        double amafMean = getAmafVisits() == 0 ? mean : getAmafValue() / getAmafVisits();
+        double exploitation = (1.0 - beta) * mean + beta * amafMean;
+        double parentVisits = Math.max(1, getParent().getVisits());
+        double exploration = explorationParameter * Math.sqrt(Math.log(parentVisits) / Math.max(1, effectiveVisits));
+        return exploitation + exploration;
+    }
+
+    /**
+     * Gets this node's value plus the wins credited to its prior visits.
+     */
+    private double getEffectiveValue() {
+        return getValue() + getHeuristicValue() * getPriorVisits();
+    }
+
     public double getValue() {
         return value;
     }
@@ -80,6 +125,101 @@ public class MCTSNode extends Node<MCTSNode, GameState> {
         return getThis();
     }
 
+    /**
+     * Gets the all-moves-as-first value of this node's move.
+     *
+     * @return Wins in playouts where the parent's active player made this
+     *         node's move at any point after the parent position.
+     */
+    public double getAmafValue() {
+        return amafValue;
+    }
+
+    public MCTSNode setAmafValue(double amafValue) {
+        this.amafValue = amafValue;
+        return getThis();
+    }
+
+    /**
+     * Gets the all-moves-as-first visit count of this node's move.
+     *
+     * @return Playouts where the parent's active player made this node's
+     *         move at any point after the parent position.
+     */
+    public int getAmafVisits() {
+        return amafVisits;
+    }
+
+    public MCTSNode setAmafVisits(int amafVisits) {
+        this.amafVisits = amafVisits;
+        return getThis();
+    }
+
+    /**
+     * Gets the static evaluation of this node.
+     *
+     * @return Estimated win probability for the player who moved into this node.
+     */
+    public double getHeuristicValue() {
+        return heuristicValue;
+    }
+
+    public MCTSNode setHeuristicValue(double heuristicValue) {
+        this.heuristicValue = heuristicValue;
+        return getThis();
+    }
+
+    /**
+     * Gets the number of virtual visits this node started with.
+     *
+     * Prior visits count as won in proportion to the heuristic value. They
+     * only affect {@link #getUCTValue(double)} and
+     * {@link #getRAVEValue(double, double)}; {@link #getVisits()} and
+     * {@link #getValue()} hold real playouts alone.
+     *
+     * @return Virtual visits seeded from the static evaluation.
+     */
+    public int getPriorVisits() {
+        return priorVisits;
+    }
+
+    public MCTSNode setPriorVisits(int priorVisits) {
+        this.priorVisits = priorVisits;
+        return getThis();
+    }
+
+    /**
+     * Gets the move that leads from this node's parent to this node.
+     *
+     * @return The move made to reach this node, or null for the root node.
+     */
+    public Move getMove() {
+        return move;
+    }
+
+    public MCTSNode setMove(Move move) {
+        this.move = move;
+        return getThis();
+    }
+
+    public ProofStatus getProofStatus() {
+        return proofStatus;
+    }
+
+    public MCTSNode setProofStatus(ProofStatus proofStatus) {
+        this.proofStatus = proofStatus;
+        return getThis();
+    }
+
+    /**
+     * Checks if the outcome of this node has been proven.
+     *
+     * @return Whether this node is a proven win or loss.
+     */
+    public boolean isProven() {
+        return proofStatus != ProofStatus.UNPROVEN;
+    }
+
     /**
      * Must be implemented per the abstract class Node.
      *
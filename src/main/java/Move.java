@@ -64,6 +64,29 @@ public class Move {
         return builder.toString();
     }
 
+    /**
+     * Converts this move to standard draughts notation, as used in PDN.
+     *
+     * Normal moves are written as "start-end" (e.g. "11-15") and jumps list
+     * every square landed on, separated by "x" (e.g. "15x24x31").
+     *
+     * @return Standard notation for this move.
+     */
+    public String toNotation() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(start);
+        // GameState works with zero-indexed squares, so subtract one.
+        int location = start - 1;
+        for (Offset o : getOffsets()) {
+            location = GameState.addOffsetToSquare(o, location);
+            boolean isJump = o == Offset.JUMP_NORTHEAST || o == Offset.JUMP_NORTHWEST
+                    || o == Offset.JUMP_SOUTHEAST || o == Offset.JUMP_SOUTHWEST;
+            builder.append(isJump ? "x" : "-");
+            builder.append(location + 1);
+        }
+        return builder.toString();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -71,4 +94,9 @@ public class Move {
         Move move = (Move) o;
         return start == move.start && Objects.equals(offsets, move.offsets);
     }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, offsets);
+    }
 }
@@ -0,0 +1,110 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search statistics for one move from the root position.
+ */
+public class MoveStatistics {
+
+    private final Move move;
+    private final int visits;
+    private final double value;
+    private final ProofStatus proofStatus;
+
+    /**
+     * Constructs a MoveStatistics for a move whose outcome hasn't been proven.
+     *
+     * @param move Move from the root position.
+     * @param visits Number of playouts through this move.
+     * @param value Number of wins for the moving player in playouts through this move.
+     */
+    public MoveStatistics(Move move, int visits, double value) {
+        this(move, visits, value, ProofStatus.UNPROVEN);
+    }
+
+    /**
+     * Constructs a MoveStatistics.
+     *
+     * @param move Move from the root position.
+     * @param visits Number of playouts through this move.
+     * @param value Number of wins for the moving player in playouts through this move.
+     * @param proofStatus Proven outcome of the move for the moving player.
+     */
+    public MoveStatistics(Move move, int visits, double value, ProofStatus proofStatus) {
+        this.move = move;
+        this.visits = visits;
+        this.value = value;
+        this.proofStatus = proofStatus;
+    }
+
+    public Move getMove() {
+        return move;
+    }
+
+    public int getVisits() {
+        return visits;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the proven outcome of this move.
+     *
+     * @return {@link ProofStatus#WIN} if the move wins for the moving player,
+     *         {@link ProofStatus#LOSS} if it loses, or unproven.
+     */
+    public ProofStatus getProofStatus() {
+        return proofStatus;
+    }
+
+    /**
+     * Gets the average outcome of playouts through this move.
+     *
+     * @return Win rate in the range 0-1 for the moving player, or 0 if unvisited.
+     */
+    public double getMeanValue() {
+        return visits == 0 ? 0.0 : value / visits;
+    }
+
+    /**
+     * Ranks moves the way {@link MCTSDraughtsSearcher#getBestMoves()} does.
+     *
+     * Proven wins are best whatever their visits. Otherwise, the most
+     * visited moves are best, passing over proven losses unless every
+     * move is lost.
+     *
+     * @param statistics Statistics for every move from a position.
+     * @return The best move(s), or none if there are no statistics.
+     */
+    public static List<Move> getBestMoves(List<MoveStatistics> statistics) {
+        List<Move> bestMoves = new ArrayList<>();
+        boolean allLost = true;
+        for (MoveStatistics moveStatistics : statistics) {
+            if (moveStatistics.getProofStatus() == ProofStatus.WIN) {
+                bestMoves.add(moveStatistics.getMove());
+            }
+            allLost &= moveStatistics.getProofStatus() == ProofStatus.LOSS;
+        }
+        if (!(bestMoves.isEmpty())) { return bestMoves; }
+
+        int maxVisits = Integer.MIN_VALUE;
+        for (MoveStatistics moveStatistics : statistics) {
+            if (!allLost && moveStatistics.getProofStatus() == ProofStatus.LOSS) { continue; }
+            if (moveStatistics.getVisits() > maxVisits) {
+                bestMoves.clear();
+                maxVisits = moveStatistics.getVisits();
+            }
+            if (moveStatistics.getVisits() >= maxVisits) {
+                bestMoves.add(moveStatistics.getMove());
+            }
+        }
+        return bestMoves;
+    }
+
+    @Override
+    public String toString() {
+        return move + " (" + visits + " visits, " + String.format("%.3f", getMeanValue()) + ")";
+    }
+}
@@ -0,0 +1,270 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Performs Monte Carlo Tree Search with UCT, keeping the tree in an {@link OffHeapNodeStore}.
+ *
+ * Nodes don't hold game states; each iteration replays the moves along the
+ * selected path from the root position instead. Once the store is full,
+ * leaves are simulated without being expanded, so a search never runs out
+ * of memory. Positions are {@link BitboardPosition}s and moves are packed
+ * longs, so the steady-state search loop creates no garbage at all unless
+ * a playout policy is set. Use this over {@link MCTSDraughtsSearcher} for
+ * searches too large for the heap or for many searches sharing a JVM; it
+ * doesn't support the solver, RAVE or priors.
+ */
+public class OffHeapDraughtsSearcher {
+
+    private static final int ROOT = 0;
+
+    private final BitboardPosition rootPosition;
+    private final OffHeapNodeStore store;
+    private double explorationParameter;
+    private PlayoutPolicy playoutPolicy;
+    private final Random rand = new Random();
+    // Scratch space reused by every iteration.
+    private final BitboardPosition position = new BitboardPosition();
+    private final long[] moves = new long[BitboardPosition.MAX_MOVES];
+    private long iterations;
+    private volatile boolean stopRequested;
+
+    /**
+     * Constructs a new OffHeapDraughtsSearcher, clearing the given store.
+     *
+     * @param gameState Game state to search from.
+     * @param explorationParameter Constant parameter used in MCTS to balance exploration and exploitation.
+     * @param store Store to keep the search tree in.
+     */
+    public OffHeapDraughtsSearcher(GameState gameState, double explorationParameter, OffHeapNodeStore store) {
+        this.rootPosition = new BitboardPosition(gameState);
+        this.store = store;
+        setExplorationParameter(explorationParameter);
+        store.clear();
+        store.allocate(1);
+        store.setMove(ROOT, PositionCodec.NO_MOVE);
+    }
+
+    /**
+     * Searches until the given time has passed or {@link #stop()} is called.
+     *
+     * @param durationMillis Time to search for in milliseconds.
+     */
+    public void search(long durationMillis) {
+        stopRequested = false;
+        long endTime = System.currentTimeMillis() + durationMillis;
+        while (!stopRequested && System.currentTimeMillis() < endTime) {
+            searchOnce();
+        }
+    }
+
+    /**
+     * Asks a running {@link #search(long)} to return after its current iteration.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Performs one iteration of Monte Carlo Tree Search with UCT.
+     *
+     * Once the store has been allocated, iterations allocate nothing on
+     * the heap: positions and move buffers are reused between iterations.
+     * Playouts with a playout policy are the exception, since policies
+     * take GameStates and move lists.
+     */
+    public void searchOnce() {
+        position.set(rootPosition);
+
+        // Select, replaying moves from the root along the way.
+        int node = ROOT;
+        while (store.getChildCount(node) > 0) {
+            node = selectChild(node);
+            position.makeMove(store.getMove(node));
+            position.swapActivePlayer();
+        }
+
+        // Expand, unless the leaf is terminal or the store is full.
+        int moveCount = position.generateLegalMoves(moves);
+        if (moveCount > 0) {
+            int firstChild = store.allocate(moveCount);
+            if (firstChild != OffHeapNodeStore.NONE) {
+                for (int i = 0; i < moveCount; i++) {
+                    store.setParent(firstChild + i, node);
+                    store.setMove(firstChild + i, moves[i]);
+                }
+                store.setChildren(node, firstChild, moveCount);
+                node = firstChild + rand.nextInt(moveCount);
+                position.makeMove(store.getMove(node));
+                position.swapActivePlayer();
+            }
+        }
+
+        boolean leafWhiteToMove = position.isWhiteToMove();
+        boolean whiteWon = playoutPolicy == null ? simulate(position) : simulate(position.toGameState());
+        backpropagate(whiteWon == leafWhiteToMove ? 0.0 : 1.0, node);
+        iterations++;
+    }
+
+    /**
+     * Selects the child of a node with the highest UCT value.
+     *
+     * @param node Index of a node with children.
+     * @return Index of the selected child.
+     */
+    private int selectChild(int node) {
+        double logParentVisits = Math.log(store.getVisits(node));
+        int firstChild = store.getFirstChild(node);
+        int childCount = store.getChildCount(node);
+        int best = firstChild;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = firstChild; child < firstChild + childCount; child++) {
+            int visits = store.getVisits(child);
+            if (visits == 0) { return child; }
+            double uct = store.getValue(child) / visits
+                    + explorationParameter * Math.sqrt(logParentVisits / visits);
+            if (uct > bestValue) {
+                bestValue = uct;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Performs a uniformly random playout in place.
+     *
+     * @param playout Position to play out; left at the end of the playout.
+     * @return Whether white won the simulation.
+     */
+    private boolean simulate(BitboardPosition playout) {
+        final int maxMoves = 1000;
+        for (int count = 0; count < maxMoves; count++) {
+            int moveCount = playout.generateLegalMoves(moves);
+            if (moveCount == 0) { break; }
+            playout.makeMove(moves[rand.nextInt(moveCount)]);
+            playout.swapActivePlayer();
+        }
+        // The player to move has lost.
+        return !(playout.isWhiteToMove());
+    }
+
+    /**
+     * Performs a playout in place, choosing moves with the playout policy.
+     *
+     * @param playout Game state to play out; left at the end of the playout.
+     * @return Whether white won the simulation.
+     */
+    private boolean simulate(GameState playout) {
+        final int maxMoves = 1000;
+        for (int count = 0; count < maxMoves; count++) {
+            List<Move> legalMoves = playout.generateLegalMoves();
+            if (legalMoves.isEmpty()) { break; }
+            playout.makeMove(playoutPolicy.chooseMove(playout, legalMoves, rand));
+            playout.swapActivePlayer();
+        }
+        // The player to move has lost.
+        return !(playout.getActivePlayer().equals("W"));
+    }
+
+    /**
+     * Updates a node and its ancestors with a game outcome.
+     *
+     * @param outcome 1 for a win, 0 for a loss, from the perspective of the player who moved into the node.
+     * @param node Index of the node to update.
+     */
+    private void backpropagate(double outcome, int node) {
+        while (node != OffHeapNodeStore.NONE) {
+            store.setVisits(node, store.getVisits(node) + 1);
+            store.setValue(node, store.getValue(node) + outcome);
+            outcome = 1.0 - outcome;
+            node = store.getParent(node);
+        }
+    }
+
+    /**
+     * Gets the moves from the root leading to the most visited children.
+     *
+     * @return All moves tied for the most visits; empty before the root is expanded.
+     */
+    public List<Move> getBestMoves() {
+        List<Move> bestMoves = new ArrayList<>();
+        int firstChild = store.getFirstChild(ROOT);
+        int maxVisits = Integer.MIN_VALUE;
+        for (int child = firstChild; child < firstChild + store.getChildCount(ROOT); child++) {
+            int visits = store.getVisits(child);
+            if (visits > maxVisits) {
+                bestMoves.clear();
+                maxVisits = visits;
+            }
+            if (visits >= maxVisits) {
+                bestMoves.add(PositionCodec.decodeMove(store.getMove(child)));
+            }
+        }
+        return bestMoves;
+    }
+
+    /**
+     * Gets statistics for every move from the root.
+     *
+     * @return One entry per root child, in move generation order.
+     */
+    public List<MoveStatistics> getRootStatistics() {
+        List<MoveStatistics> statistics = new ArrayList<>();
+        int firstChild = store.getFirstChild(ROOT);
+        for (int child = firstChild; child < firstChild + store.getChildCount(ROOT); child++) {
+            statistics.add(new MoveStatistics(PositionCodec.decodeMove(store.getMove(child)),
+                    store.getVisits(child), store.getValue(child)));
+        }
+        return statistics;
+    }
+
+    public GameState getRootState() {
+        return rootPosition.toGameState();
+    }
+
+    public int getRootVisits() {
+        return store.getVisits(ROOT);
+    }
+
+    public int getNodeCount() {
+        return store.size();
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    public PlayoutPolicy getPlayoutPolicy() {
+        return playoutPolicy;
+    }
+
+    /**
+     * Sets the policy used to choose moves during playouts.
+     *
+     * @param playoutPolicy Policy to use, or null (the default) for
+     *                      uniformly random playouts that allocate nothing.
+     */
+    public void setPlayoutPolicy(PlayoutPolicy playoutPolicy) {
+        this.playoutPolicy = playoutPolicy;
+    }
+
+    public double getExplorationParameter() {
+        return explorationParameter;
+    }
+
+    public void setExplorationParameter(double explorationParameter) {
+        this.explorationParameter = explorationParameter;
+    }
+
+    /**
+     * Seeds the source of randomness, making searches of a fixed number of
+     * iterations reproducible.
+     *
+     * @param seed Seed for the random number generator.
+     * @see MCTSDraughtsSearcher#setSeed(long)
+     */
+    public void setSeed(long seed) {
+        rand.setSeed(seed);
+    }
+}
@@ -0,0 +1,221 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores search tree nodes as fixed-size records outside the Java heap.
+ *
+ * Nodes are identified by int indices. Each 32-byte record holds a node's
+ * value, visits, packed move (see {@link PositionCodec#encodeMove(Move)}),
+ * parent, and the index and number of its children, which are always
+ * allocated next to each other. Records live in direct buffers, or in a
+ * memory-mapped file, allocated in chunks as the tree grows. The garbage
+ * collector never sees individual nodes, so trees can grow far larger than
+ * the heap without causing long pauses.
+ *
+ * @see OffHeapDraughtsSearcher
+ */
+public class OffHeapNodeStore implements Closeable {
+
+    /** Index used for a missing parent or child. */
+    public static final int NONE = -1;
+    /** Size of a node's record: an 8-byte value and move, then four 4-byte ints, without padding. */
+    public static final int RECORD_BYTES = 32;
+
+    private static final int VALUE_OFFSET = 0;
+    private static final int MOVE_OFFSET = 8;
+    private static final int PARENT_OFFSET = 16;
+    private static final int FIRST_CHILD_OFFSET = 20;
+    private static final int VISITS_OFFSET = 24;
+    private static final int CHILD_COUNT_OFFSET = 28;
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_RECORDS - 1;
+    private static final int CHUNK_BYTES = CHUNK_RECORDS * RECORD_BYTES;
+
+    private final int maxNodes;
+    private final FileChannel channel;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private int size = 0;
+
+    /**
+     * Constructs an OffHeapNodeStore backed by direct memory.
+     *
+     * @param maxNodes Maximum number of nodes to store.
+     */
+    public OffHeapNodeStore(int maxNodes) {
+        this(maxNodes, null);
+    }
+
+    private OffHeapNodeStore(int maxNodes, FileChannel channel) {
+        if (maxNodes < 1) {
+            throw new IllegalArgumentException("maxNodes must be >=1");
+        }
+        this.maxNodes = maxNodes;
+        this.channel = channel;
+    }
+
+    /**
+     * Constructs an OffHeapNodeStore backed by a memory-mapped file.
+     *
+     * The operating system pages records between memory and the file as
+     * needed, so the tree may even exceed physical memory. The file is
+     * created or overwritten.
+     *
+     * @throws IOException the file couldn't be opened.
+     * @param path File to store nodes in.
+     * @param maxNodes Maximum number of nodes to store.
+     * @return A file-backed store.
+     */
+    public static OffHeapNodeStore mapped(Path path, int maxNodes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new OffHeapNodeStore(maxNodes, channel);
+    }
+
+    /**
+     * Allocates consecutive, zeroed nodes with no parent and no children.
+     *
+     * @throws UncheckedIOException mapping more of the backing file failed.
+     * @param count Number of nodes to allocate.
+     * @return Index of the first new node, or {@link #NONE} if the store is full.
+     */
+    public int allocate(int count) {
+        if (count < 1 || (long) size + count > maxNodes) {
+            return NONE;
+        }
+        int first = size;
+        size += count;
+        while (chunks.size() <= ((size - 1) >>> CHUNK_SHIFT)) {
+            chunks.add(newChunk(chunks.size()));
+        }
+        for (int node = first; node < size; node++) {
+            ByteBuffer chunk = chunk(node);
+            int offset = offset(node);
+            for (int i = 0; i < RECORD_BYTES; i += 8) {
+                chunk.putLong(offset + i, 0L);
+            }
+            chunk.putInt(offset + PARENT_OFFSET, NONE);
+            chunk.putInt(offset + FIRST_CHILD_OFFSET, NONE);
+        }
+        return first;
+    }
+
+    /**
+     * Forgets every node, keeping the memory already allocated for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Gets the number of allocated nodes.
+     *
+     * @return Nodes allocated since the store was created or cleared.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+
+    public double getValue(int node) {
+        return chunk(node).getDouble(offset(node) + VALUE_OFFSET);
+    }
+
+    public void setValue(int node, double value) {
+        chunk(node).putDouble(offset(node) + VALUE_OFFSET, value);
+    }
+
+    public int getVisits(int node) {
+        return chunk(node).getInt(offset(node) + VISITS_OFFSET);
+    }
+
+    public void setVisits(int node, int visits) {
+        chunk(node).putInt(offset(node) + VISITS_OFFSET, visits);
+    }
+
+    /**
+     * Gets the move leading to a node.
+     *
+     * @param node Node index.
+     * @return The move packed by {@link PositionCodec#encodeMove(Move)}.
+     */
+    public long getMove(int node) {
+        return chunk(node).getLong(offset(node) + MOVE_OFFSET);
+    }
+
+    public void setMove(int node, long move) {
+        chunk(node).putLong(offset(node) + MOVE_OFFSET, move);
+    }
+
+    public int getParent(int node) {
+        return chunk(node).getInt(offset(node) + PARENT_OFFSET);
+    }
+
+    public void setParent(int node, int parent) {
+        chunk(node).putInt(offset(node) + PARENT_OFFSET, parent);
+    }
+
+    public int getFirstChild(int node) {
+        return chunk(node).getInt(offset(node) + FIRST_CHILD_OFFSET);
+    }
+
+    public int getChildCount(int node) {
+        return chunk(node).getInt(offset(node) + CHILD_COUNT_OFFSET);
+    }
+
+    /**
+     * Records a node's children, which must be consecutive.
+     *
+     * @param node Node index.
+     * @param firstChild Index of the first child.
+     * @param childCount Number of children.
+     */
+    public void setChildren(int node, int firstChild, int childCount) {
+        ByteBuffer chunk = chunk(node);
+        int offset = offset(node);
+        chunk.putInt(offset + FIRST_CHILD_OFFSET, firstChild);
+        chunk.putInt(offset + CHILD_COUNT_OFFSET, childCount);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Direct and mapped buffers are released once they become unreachable.
+        chunks.clear();
+        size = 0;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private ByteBuffer newChunk(int index) {
+        if (channel == null) {
+            return ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.nativeOrder());
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, (long) index * CHUNK_BYTES, CHUNK_BYTES)
+                    .order(ByteOrder.nativeOrder());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map node store file", e);
+        }
+    }
+
+    private ByteBuffer chunk(int node) {
+        return chunks.get(node >>> CHUNK_SHIFT);
+    }
+
+    private static int offset(int node) {
+        return (node & CHUNK_MASK) * RECORD_BYTES;
+    }
+}
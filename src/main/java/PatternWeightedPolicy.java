@@ -0,0 +1,111 @@
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Chooses moves at random, weighted by a few cheap local patterns.
+ *
+ * Every move starts with weight 1. Captures gain weight for each piece
+ * taken, promotions and moves onto the side edges gain weight, and moves
+ * that leave the back row or land where an enemy piece can immediately
+ * jump them lose weight. The move is then sampled in proportion to its
+ * weight, so play stays varied while obvious blunders become rare.
+ */
+public class PatternWeightedPolicy implements PlayoutPolicy {
+
+    private static final Offset[] MOVE_DIRECTIONS = {
+            Offset.MOVE_NORTHEAST, Offset.MOVE_NORTHWEST, Offset.MOVE_SOUTHEAST, Offset.MOVE_SOUTHWEST
+    };
+
+    @Override
+    public Move chooseMove(GameState gameState, List<Move> legalMoves, Random random) {
+        double[] weights = new double[legalMoves.size()];
+        double total = 0;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            weights[i] = weight(gameState, legalMoves.get(i));
+            total += weights[i];
+        }
+        double target = random.nextDouble() * total;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return legalMoves.get(i);
+            }
+        }
+        return legalMoves.get(legalMoves.size() - 1);
+    }
+
+    private static double weight(GameState gameState, Move move) {
+        double weight = 1.0;
+        Piece piece = gameState.getPiece(move.getStart());
+        boolean white = piece == Piece.WHITE_MAN || piece == Piece.WHITE_KING;
+        int location = move.getStart() - 1;
+        for (Offset o : move.getOffsets()) {
+            if (o == Offset.JUMP_NORTHEAST || o == Offset.JUMP_NORTHWEST
+                    || o == Offset.JUMP_SOUTHEAST || o == Offset.JUMP_SOUTHWEST) {
+                weight += 2.0;
+            }
+            location = GameState.addOffsetToSquare(o, location);
+        }
+
+        if (CapturePromotionPolicy.promotes(gameState, move)) {
+            weight += 3.0;
+        }
+        // Leaving the back row lets the opponent promote.
+        int startRow = (move.getStart() - 1) / 4;
+        if ((piece == Piece.WHITE_MAN && startRow == 7) || (piece == Piece.BLACK_MAN && startRow == 0)) {
+            weight *= 0.5;
+        }
+        // Pieces on the side edges can't be jumped.
+        if (location % 8 == 3 || location % 8 == 4) {
+            weight *= 1.5;
+        }
+        if (canBeJumped(gameState, move.getStart() - 1, location, white)) {
+            weight *= 0.25;
+        }
+        return weight;
+    }
+
+    /**
+     * Checks if an enemy piece could jump a piece that just landed on a square.
+     *
+     * Only the squares next to the landing square are inspected, and the
+     * square the moving piece came from counts as empty. Pieces captured
+     * by the move are ignored, which is close enough for a playout policy.
+     */
+    private static boolean canBeJumped(GameState gameState, int from, int landing, boolean white) {
+        for (Offset direction : MOVE_DIRECTIONS) {
+            int attackerSquare = GameState.addOffsetToSquare(direction, landing);
+            if (attackerSquare == -1) { continue; }
+            Piece attacker = gameState.getPiece(attackerSquare + 1);
+            boolean enemy = white
+                    ? (attacker == Piece.BLACK_KING || (attacker == Piece.BLACK_MAN && attackerSquare < landing))
+                    : (attacker == Piece.WHITE_KING || (attacker == Piece.WHITE_MAN && attackerSquare > landing));
+            if (!enemy) { continue; }
+            // The attacker lands on the square opposite itself.
+            int landingSquare = GameState.addOffsetToSquare(opposite(direction), landing);
+            if (landingSquare != -1
+                    && (landingSquare == from || gameState.getPiece(landingSquare + 1) == Piece.NONE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Offset opposite(Offset direction) {
+        switch (direction) {
+            case MOVE_NORTHEAST:
+                return Offset.MOVE_SOUTHWEST;
+            case MOVE_NORTHWEST:
+                return Offset.MOVE_SOUTHEAST;
+            case MOVE_SOUTHEAST:
+                return Offset.MOVE_NORTHWEST;
+            default:
+                return Offset.MOVE_NORTHEAST;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PatternWeighted";
+    }
+}
@@ -0,0 +1,274 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Annotates every position of the games in a PDN stream with search results.
+ *
+ * Games are read one at a time and analyzed in parallel, one game per
+ * thread. Within a game, the search tree is carried from one ply to the
+ * next with {@link MCTSDraughtsSearcher#advance(Move)}, so each position
+ * starts with the statistics gathered while analyzing the previous one.
+ * Output is written in input order.
+ */
+public class PdnAnnotator {
+
+    /**
+     * Output formats supported by {@link PdnAnnotator}.
+     */
+    public enum OutputFormat {
+        /** The input games, with a comment holding the engine's choice after every move. */
+        PDN,
+        /** One tab-separated line per position: game, ply, FEN, played move, best move, visits, win rate. */
+        COMPACT
+    }
+
+    private final int iterationsPerPosition;
+    private final int threads;
+    private final double explorationParameter;
+    private final OutputFormat outputFormat;
+    private Long seed = null;
+
+    /**
+     * Constructs a PdnAnnotator.
+     *
+     * @param iterationsPerPosition Search iterations to run in each position, fewer once it is solved.
+     * @param threads Number of games to analyze at once.
+     * @param explorationParameter Exploration parameter passed to each {@link MCTSDraughtsSearcher}.
+     * @param outputFormat Format of the annotated output.
+     */
+    public PdnAnnotator(int iterationsPerPosition, int threads, double explorationParameter,
+                        OutputFormat outputFormat) {
+        if (iterationsPerPosition < 1) {
+            throw new IllegalArgumentException("iterationsPerPosition must be >=1");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be >=1");
+        }
+        this.iterationsPerPosition = iterationsPerPosition;
+        this.threads = threads;
+        this.explorationParameter = explorationParameter;
+        this.outputFormat = outputFormat;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Makes the analysis reproducible.
+     *
+     * Each game's searcher is seeded from this seed and the game's position
+     * in the input, so results don't depend on which thread analyzes it.
+     *
+     * @param seed Seed for the whole run, or null for unseeded searches.
+     * @see MCTSDraughtsSearcher#deriveSeed(long, long)
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Reads, analyzes, and writes every game in a PDN stream.
+     *
+     * @throws IOException reading or writing failed.
+     * @param in PDN games to annotate.
+     * @param out Destination for annotated output.
+     * @return Throughput statistics for the run.
+     */
+    public Summary annotate(Reader in, Writer out) throws IOException {
+        long startNanos = System.nanoTime();
+        AtomicLong positions = new AtomicLong();
+        long games = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // Analyses waiting to be written, in input order. Bounding this
+        // queue keeps the reader from racing ahead of the analysis.
+        Deque<Future<String>> pending = new ArrayDeque<>();
+        try (PdnReader reader = new PdnReader(in)) {
+            PdnGame game;
+            while ((game = reader.readGame()) != null) {
+                final PdnGame toAnalyze = game;
+                final long gameIndex = games++;
+                pending.add(executor.submit(() -> analyzeGame(toAnalyze, gameIndex, positions)));
+                if (pending.size() >= 2 * threads) {
+                    out.write(await(pending.poll()));
+                }
+            }
+            while (!(pending.isEmpty())) {
+                out.write(await(pending.poll()));
+            }
+            out.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Summary(games, positions.get(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Analyzes every position of one game.
+     *
+     * @param game Game to analyze.
+     * @param gameIndex Zero-indexed position of the game in the input.
+     * @param positions Counter of analyzed positions, shared between games.
+     * @return The formatted output for this game.
+     */
+    protected String analyzeGame(PdnGame game, long gameIndex, AtomicLong positions) {
+        StringBuilder compact = new StringBuilder();
+        PdnGame annotated = new PdnGame();
+        annotated.getTags().putAll(game.getTags());
+        annotated.setResult(game.getResult());
+
+        GameState gameState;
+        try {
+            gameState = game.getInitialState();
+        } catch (IllegalArgumentException e) {
+            // Drop the FEN, which PdnWriter would fail to parse again, so the rest of the run continues.
+            annotated.getTags().remove("FEN");
+            annotated.getTags().put("Annotator", "Invalid FEN");
+            return outputFormat == OutputFormat.PDN ? PdnWriter.format(annotated) : "";
+        }
+
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gameState, explorationParameter);
+        if (seed != null) {
+            searcher.setSeed(MCTSDraughtsSearcher.deriveSeed(seed, gameIndex));
+        }
+        List<String> moves = game.getMoves();
+        for (int ply = 0; ply < moves.size(); ply++) {
+            Move played;
+            try {
+                played = gameState.parseMove(moves.get(ply));
+            } catch (IllegalArgumentException e) {
+                // Keep the remaining moves unannotated rather than guessing.
+                for (int i = ply; i < moves.size(); i++) {
+                    annotated.addMove(moves.get(i), game.getComments().get(i));
+                }
+                break;
+            }
+
+            searcher.searchIterations(iterationsPerPosition);
+            positions.incrementAndGet();
+
+            MoveStatistics best = null;
+            List<Move> bestMoves = searcher.getBestMoves();
+            for (MoveStatistics statistics : searcher.getRootStatistics()) {
+                if (!(bestMoves.isEmpty()) && statistics.getMove().equals(bestMoves.get(0))) {
+                    best = statistics;
+                }
+            }
+
+            if (outputFormat == OutputFormat.COMPACT) {
+                compact.append(gameIndex).append('\t')
+                        .append(ply).append('\t')
+                        .append(gameState).append('\t')
+                        .append(played.toNotation()).append('\t')
+                        .append(best == null ? "-" : best.getMove().toNotation()).append('\t')
+                        .append(best == null ? 0 : best.getVisits()).append('\t')
+                        .append(best == null ? "-" : String.format("%.4f", best.getMeanValue()))
+                        .append('\n');
+            } else {
+                String comment = best == null ? null
+                        : best.getMove().toNotation() + " " + String.format("%.3f", best.getMeanValue());
+                annotated.addMove(moves.get(ply), comment);
+            }
+
+            gameState.makeMove(played);
+            gameState.swapActivePlayer();
+            searcher.advance(played);
+        }
+
+        return outputFormat == OutputFormat.PDN ? PdnWriter.format(annotated) : compact.toString();
+    }
+
+    private static String await(Future<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for analysis");
+        } catch (ExecutionException e) {
+            throw new IOException("Analysis failed", e.getCause());
+        }
+    }
+
+    /**
+     * Throughput statistics for one run of {@link #annotate(Reader, Writer)}.
+     */
+    public static class Summary {
+
+        private final long games;
+        private final long positions;
+        private final long elapsedMillis;
+
+        public Summary(long games, long positions, long elapsedMillis) {
+            this.games = games;
+            this.positions = positions;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getPositions() {
+            return positions;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public double getPositionsPerSecond() {
+            return elapsedMillis == 0 ? 0.0 : positions * 1000.0 / elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "Games: " + games + ", Positions: " + positions
+                    + ", Positions/s: " + String.format("%.1f", getPositionsPerSecond());
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: java -cp MCTSDraughts.jar PdnAnnotator [Input PDN] [Output File] "
+                    + "[Iterations per Position] [Threads (optional)] [pdn|compact (optional)] [Seed (optional)]");
+            System.exit(1);
+        }
+
+        int iterations = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Long seed = null;
+        try {
+            iterations = Integer.parseInt(args[2]);
+            if (args.length > 3) {
+                threads = Integer.parseInt(args[3]);
+            }
+            if (args.length > 5) {
+                seed = Long.parseLong(args[5]);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Please input valid iteration and thread counts and seed.");
+            System.exit(1);
+        }
+        OutputFormat format = args.length > 4 && args[4].equalsIgnoreCase("compact")
+                ? OutputFormat.COMPACT : OutputFormat.PDN;
+
+        PdnAnnotator annotator = new PdnAnnotator(iterations, threads, Math.sqrt(2.0), format);
+        annotator.setSeed(seed);
+        try (Reader in = new InputStreamReader(new FileInputStream(args[0]), StandardCharsets.UTF_8);
+             Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(args[1]),
+                     StandardCharsets.UTF_8))) {
+            System.out.println(annotator.annotate(in, out));
+        } catch (IOException e) {
+            System.out.println("Could not annotate games: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
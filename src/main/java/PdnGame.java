@@ -0,0 +1,79 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents one game from a Portable Draughts Notation (PDN) file.
+ *
+ * Moves are kept in standard notation (e.g. "11-15", "22x15") exactly as
+ * they appeared in the file. Use {@link GameState#parseMove(String)} to
+ * turn them into {@link Move}s while replaying the game.
+ */
+public class PdnGame {
+
+    private final Map<String, String> tags = new LinkedHashMap<>();
+    private final List<String> moves = new ArrayList<>();
+    private final List<String> comments = new ArrayList<>();
+    private String result = "*";
+
+    /**
+     * Gets the tag pairs of this game in file order.
+     *
+     * @return Mutable map of tag names to values.
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public List<String> getMoves() {
+        return moves;
+    }
+
+    /**
+     * Gets the comment following each move.
+     *
+     * @return A list parallel to {@link #getMoves()}; moves without a comment have a null entry.
+     */
+    public List<String> getComments() {
+        return comments;
+    }
+
+    /**
+     * Appends a move and the comment that follows it.
+     *
+     * @param move Move in standard notation.
+     * @param comment Comment for the move, or null.
+     */
+    public void addMove(String move, String comment) {
+        moves.add(move);
+        comments.add(comment);
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    /**
+     * Gets the position this game starts from.
+     *
+     * @throws IllegalArgumentException the game's FEN tag is invalid.
+     * @return The position given by the FEN tag, or the standard starting position.
+     */
+    public GameState getInitialState() {
+        String fen = tags.get("FEN");
+        if (fen == null) {
+            return new GameState();
+        }
+        // PDN FENs may end with a period, which GameState doesn't accept.
+        fen = fen.trim();
+        if (fen.endsWith(".")) {
+            fen = fen.substring(0, fen.length() - 1);
+        }
+        return new GameState(fen);
+    }
+}
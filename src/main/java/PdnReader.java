@@ -0,0 +1,186 @@
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads games one at a time from a Portable Draughts Notation (PDN) stream.
+ *
+ * Only the current game is held in memory, so arbitrarily large files can
+ * be processed. Variations, NAGs, and move strength annotations are skipped.
+ *
+ * For more on PDN, {@see https://en.wikipedia.org/wiki/Portable_Draughts_Notation}.
+ */
+public class PdnReader implements Closeable {
+
+    private final BufferedReader reader;
+    // A character read one step too far, or -2 if there isn't one.
+    private int pushedBack = -2;
+
+    /**
+     * Constructs a PdnReader.
+     *
+     * @param reader Source of PDN text.
+     */
+    public PdnReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Reads the next game.
+     *
+     * @throws IOException the underlying reader failed.
+     * @return The next game, or null if the stream has no more games.
+     */
+    public PdnGame readGame() throws IOException {
+        PdnGame game = new PdnGame();
+        boolean inMovetext = false;
+        boolean empty = true;
+        int c;
+        while ((c = read()) != -1) {
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            switch (c) {
+                case '[':
+                    if (inMovetext) {
+                        // A tag after moves begins the next game, which
+                        // didn't end with a result.
+                        pushedBack = c;
+                        return game;
+                    }
+                    readTag(game);
+                    empty = false;
+                    break;
+                case '{':
+                    String comment = readUntil('}').trim();
+                    int lastMove = game.getMoves().size() - 1;
+                    if (lastMove >= 0) {
+                        game.getComments().set(lastMove, comment);
+                    }
+                    break;
+                case '(':
+                    skipVariation();
+                    break;
+                case ';':
+                    readUntil('\n');
+                    break;
+                default:
+                    pushedBack = c;
+                    String token = readToken();
+                    inMovetext = true;
+                    empty = false;
+                    if (isResult(token)) {
+                        game.setResult(token);
+                        return game;
+                    }
+                    String move = stripToMove(token);
+                    if (move != null) {
+                        game.addMove(move, null);
+                    }
+                    break;
+            }
+        }
+        return empty ? null : game;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void readTag(PdnGame game) throws IOException {
+        String tag = readUntil(']').trim();
+        int quote = tag.indexOf('"');
+        if (quote < 0) { return; }
+        String name = tag.substring(0, quote).trim();
+        int endQuote = tag.lastIndexOf('"');
+        String value = endQuote > quote ? tag.substring(quote + 1, endQuote) : tag.substring(quote + 1);
+        game.getTags().put(name, value);
+    }
+
+    private String readUntil(char end) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        int c;
+        while ((c = read()) != -1 && c != end) {
+            builder.append((char) c);
+        }
+        return builder.toString();
+    }
+
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        int c;
+        while (depth > 0 && (c = read()) != -1) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                readUntil('}');
+            }
+        }
+    }
+
+    private String readToken() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        int c;
+        while ((c = read()) != -1) {
+            if (Character.isWhitespace(c) || c == '{' || c == '(' || c == '[' || c == ';') {
+                pushedBack = c;
+                break;
+            }
+            builder.append((char) c);
+        }
+        return builder.toString();
+    }
+
+    private static boolean isResult(String token) {
+        switch (token) {
+            case "1-0":
+            case "0-1":
+            case "1/2-1/2":
+            case "2-0":
+            case "0-2":
+            case "1-1":
+            case "0-0":
+            case "*":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Extracts a move from a movetext token.
+     *
+     * @param token A token such as "1.", "11-15", "22x15!", or "$3".
+     * @return The move without move numbers or annotations, or null if the token isn't a move.
+     */
+    private static String stripToMove(String token) {
+        // Move numbers may be attached to moves, as in "1.11-15".
+        int period = token.lastIndexOf('.');
+        if (period >= 0) {
+            token = token.substring(period + 1);
+        }
+        int end = token.length();
+        while (end > 0 && !(Character.isDigit(token.charAt(end - 1)))) {
+            end--;
+        }
+        token = token.substring(0, end);
+        if (token.isEmpty() || !(Character.isDigit(token.charAt(0)))
+                || (token.indexOf('-') < 0 && token.indexOf('x') < 0)) {
+            return null;
+        }
+        return token;
+    }
+}
@@ -0,0 +1,100 @@
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes games in Portable Draughts Notation (PDN).
+ */
+public class PdnWriter implements Closeable, Flushable {
+
+    private static final int LINE_LENGTH = 80;
+
+    private final Writer writer;
+
+    /**
+     * Constructs a PdnWriter.
+     *
+     * @param writer Destination for PDN text.
+     */
+    public PdnWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes a game, including its tags, move comments, and result.
+     *
+     * @throws IOException the underlying writer failed.
+     * @param game Game to write.
+     */
+    public void writeGame(PdnGame game) throws IOException {
+        writer.write(format(game));
+    }
+
+    /**
+     * Formats a game as PDN text.
+     *
+     * @param game Game to format.
+     * @return The game's tags and movetext, followed by a blank line.
+     */
+    public static String format(PdnGame game) {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, String> tag : game.getTags().entrySet()) {
+            builder.append('[').append(tag.getKey()).append(" \"").append(tag.getValue()).append("\"]\n");
+        }
+        builder.append('\n');
+
+        // Black moves first in English draughts, so a move number precedes
+        // each black move. Games starting with white to move open with "1...".
+        boolean blackToMove = !("W".equals(game.getInitialState().getActivePlayer()));
+        List<String> moves = game.getMoves();
+        List<String> comments = game.getComments();
+        int lineStart = builder.length();
+        int moveNumber = 1;
+        for (int i = 0; i < moves.size(); i++) {
+            StringBuilder token = new StringBuilder();
+            if (blackToMove) {
+                token.append(moveNumber).append(". ");
+            } else if (i == 0) {
+                token.append(moveNumber).append("... ");
+            }
+            token.append(moves.get(i));
+            if (comments.get(i) != null) {
+                token.append(" {").append(comments.get(i)).append('}');
+            }
+            if (!blackToMove) {
+                moveNumber++;
+            }
+            blackToMove = !blackToMove;
+            lineStart = appendWrapped(builder, token, lineStart);
+        }
+        appendWrapped(builder, new StringBuilder(game.getResult()), lineStart);
+        builder.append("\n\n");
+        return builder.toString();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static int appendWrapped(StringBuilder builder, CharSequence token, int lineStart) {
+        if (builder.length() > lineStart) {
+            if (builder.length() - lineStart + 1 + token.length() > LINE_LENGTH) {
+                builder.append('\n');
+                lineStart = builder.length();
+            } else {
+                builder.append(' ');
+            }
+        }
+        builder.append(token);
+        return lineStart;
+    }
+}
@@ -0,0 +1,25 @@
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Chooses moves during the playout phase of Monte Carlo Tree Search.
+ *
+ * Implementations must be stateless or thread-confined, since one policy
+ * may be shared by several searchers.
+ *
+ * @see MCTSDraughtsSearcher#setPlayoutPolicy(PlayoutPolicy)
+ * @see PlayoutPolicyBenchmark
+ */
+public interface PlayoutPolicy {
+
+    /**
+     * Chooses the next move of a playout.
+     *
+     * @param gameState The current position of the playout.
+     * @param legalMoves Legal moves in that position; never empty.
+     * @param random Source of randomness for the choice.
+     * @return One of the legal moves.
+     */
+    Move chooseMove(GameState gameState, List<Move> legalMoves, Random random);
+
+}
@@ -0,0 +1,242 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the cost and accuracy of playout policies.
+ *
+ * Each policy plays a fixed number of playouts from every benchmark
+ * position. Its win rate estimate for each position is compared against a
+ * reference win rate. Together with the time spent per ply and playouts
+ * per second, this shows which policy gives the best estimates per CPU
+ * second.
+ *
+ * References should not come from searches with any one of the policies
+ * being compared, since that favors the policy. {@link #solvedEndgames}
+ * uses endgames whose outcome alpha-beta proves, which favors none.
+ */
+public class PlayoutPolicyBenchmark {
+
+    private static final int MAX_PLAYOUT_MOVES = 1000;
+
+    private final List<GameState> positions;
+    private final double[] referenceWinRates;
+
+    /**
+     * Constructs a PlayoutPolicyBenchmark.
+     *
+     * @param positions Positions to play out from.
+     * @param referenceWinRates For each position, the active player's true (or best known) win rate.
+     */
+    public PlayoutPolicyBenchmark(List<GameState> positions, double[] referenceWinRates) {
+        if (positions.size() != referenceWinRates.length) {
+            throw new IllegalArgumentException("Every position needs exactly one reference win rate");
+        }
+        this.positions = new ArrayList<>(positions);
+        this.referenceWinRates = Arrays.copyOf(referenceWinRates, referenceWinRates.length);
+    }
+
+    public int getPositionCount() {
+        return positions.size();
+    }
+
+    /**
+     * Samples endgames whose outcome is proven by alpha-beta search.
+     *
+     * Random games are played from the starting position until few pieces
+     * remain. Positions the solver proves are kept with a reference win
+     * rate of 1 or 0; the rest are discarded. The reference is exact and
+     * independent of any playout policy, but only covers endgames decided
+     * within the solver's depth.
+     *
+     * @param count Number of positions wanted.
+     * @param maxPieces Largest number of pieces on the board in a sampled position.
+     * @param solver Solver to prove outcomes with.
+     * @param random Source of randomness for the games.
+     * @return A benchmark of up to count positions; fewer if too few could be proven.
+     */
+    public static PlayoutPolicyBenchmark solvedEndgames(int count, int maxPieces, AlphaBetaSolver solver,
+                                                        Random random) {
+        List<GameState> positions = new ArrayList<>();
+        List<Double> winRates = new ArrayList<>();
+        // Give up eventually if the solver proves almost nothing.
+        for (int attempt = 0; attempt < 100 * count && positions.size() < count; attempt++) {
+            GameState gs = new GameState();
+            List<Move> legalMoves = gs.generateLegalMoves();
+            while (!(legalMoves.isEmpty())
+                    && Integer.bitCount(gs.getWhitePieces() | gs.getBlackPieces()) > maxPieces) {
+                gs.makeMove(legalMoves.get(random.nextInt(legalMoves.size())));
+                gs.swapActivePlayer();
+                legalMoves = gs.generateLegalMoves();
+            }
+            if (legalMoves.isEmpty()) { continue; }
+
+            int score = solver.search(gs);
+            if (AlphaBetaSolver.isProvenWin(score) || AlphaBetaSolver.isProvenLoss(score)) {
+                positions.add(gs);
+                winRates.add(AlphaBetaSolver.toWinProbability(score));
+            }
+        }
+        double[] referenceWinRates = new double[winRates.size()];
+        for (int i = 0; i < referenceWinRates.length; i++) {
+            referenceWinRates[i] = winRates.get(i);
+        }
+        return new PlayoutPolicyBenchmark(positions, referenceWinRates);
+    }
+
+    /**
+     * Estimates reference win rates with a long search from each position.
+     *
+     * The search's playouts are uniformly random, so these references favor
+     * {@link UniformRandomPolicy}. Prefer {@link #solvedEndgames} when
+     * comparing policies.
+     *
+     * @param positions Positions to evaluate.
+     * @param iterations Search iterations per position.
+     * @param explorationParameter Exploration parameter for the searches.
+     * @return The active player's estimated win rate in each position.
+     */
+    public static double[] referenceWinRates(List<GameState> positions, int iterations,
+                                             double explorationParameter) {
+        double[] winRates = new double[positions.size()];
+        for (int i = 0; i < positions.size(); i++) {
+            MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(positions.get(i), explorationParameter);
+            searcher.searchIterations(iterations);
+            // The root's value is from the perspective of the player who moved
+            // into it, so the active player's win rate is its complement.
+            MCTSNode root = searcher.getRoot();
+            if (searcher.isSolved()) {
+                // The search stops once solved, so trust the proof over the few visits made.
+                winRates[i] = root.getProofStatus() == ProofStatus.LOSS ? 1.0 : 0.0;
+            } else {
+                winRates[i] = root.getVisits() == 0 ? 0.5 : 1.0 - root.getValue() / root.getVisits();
+            }
+        }
+        return winRates;
+    }
+
+    /**
+     * Plays out every benchmark position with a policy.
+     *
+     * @param policy Policy to measure.
+     * @param playoutsPerPosition Playouts to run from each position.
+     * @param random Source of randomness for the policy.
+     * @return Cost and accuracy of the policy.
+     */
+    public Result measure(PlayoutPolicy policy, int playoutsPerPosition, Random random) {
+        long plies = 0;
+        double squaredError = 0;
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < positions.size(); i++) {
+            GameState position = positions.get(i);
+            int wins = 0;
+            for (int j = 0; j < playoutsPerPosition; j++) {
+                GameState gs = new GameState(position);
+                int count = 0;
+                while (count < MAX_PLAYOUT_MOVES) {
+                    List<Move> legalMoves = gs.generateLegalMoves();
+                    if (legalMoves.size() == 0) { break; }
+                    count++;
+                    gs.makeMove(policy.chooseMove(gs, legalMoves, random));
+                    gs.swapActivePlayer();
+                }
+                plies += count;
+                // The player left without moves lost.
+                if (!(gs.getActivePlayer().equals(position.getActivePlayer()))) {
+                    wins++;
+                }
+            }
+            double error = (double) wins / playoutsPerPosition - referenceWinRates[i];
+            squaredError += error * error;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long playouts = (long) playoutsPerPosition * positions.size();
+        return new Result(policy.toString(), playouts, plies, elapsedNanos,
+                Math.sqrt(squaredError / positions.size()));
+    }
+
+    /**
+     * Cost and accuracy of one policy.
+     */
+    public static class Result {
+
+        private final String policy;
+        private final long playouts;
+        private final long plies;
+        private final long elapsedNanos;
+        private final double rootMeanSquaredError;
+
+        public Result(String policy, long playouts, long plies, long elapsedNanos, double rootMeanSquaredError) {
+            this.policy = policy;
+            this.playouts = playouts;
+            this.plies = plies;
+            this.elapsedNanos = elapsedNanos;
+            this.rootMeanSquaredError = rootMeanSquaredError;
+        }
+
+        public String getPolicy() {
+            return policy;
+        }
+
+        public long getPlayouts() {
+            return playouts;
+        }
+
+        public long getPlies() {
+            return plies;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getPlayoutsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : playouts * 1e9 / elapsedNanos;
+        }
+
+        public double getNanosPerPly() {
+            return plies == 0 ? 0.0 : (double) elapsedNanos / plies;
+        }
+
+        /**
+         * Gets the error of the policy's win rate estimates against the reference.
+         *
+         * @return Root mean squared difference between estimated and reference win rates.
+         */
+        public double getRootMeanSquaredError() {
+            return rootMeanSquaredError;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-18s %10.1f playouts/s %8.0f ns/ply %6.1f plies/playout  RMSE %.4f",
+                    policy, getPlayoutsPerSecond(), getNanosPerPly(),
+                    playouts == 0 ? 0.0 : (double) plies / playouts, rootMeanSquaredError);
+        }
+    }
+
+    public static void main(String[] args) {
+        int positionCount = 20;
+        int solverDepth = 12;
+        int playouts = 200;
+        try {
+            if (args.length > 0) { positionCount = Integer.parseInt(args[0]); }
+            if (args.length > 1) { solverDepth = Integer.parseInt(args[1]); }
+            if (args.length > 2) { playouts = Integer.parseInt(args[2]); }
+        } catch (NumberFormatException e) {
+            System.out.println("Usage: java -cp MCTSDraughts.jar PlayoutPolicyBenchmark [Positions (optional)] "
+                    + "[Solver Depth (optional)] [Playouts per Position (optional)]");
+            System.exit(1);
+        }
+
+        Random random = new Random();
+        PlayoutPolicyBenchmark benchmark = solvedEndgames(positionCount, 8, new AlphaBetaSolver(solverDepth, 20),
+                random);
+        System.out.println("Solved endgames: " + benchmark.getPositionCount());
+        for (PlayoutPolicy policy : Arrays.asList(new UniformRandomPolicy(), new CapturePromotionPolicy(),
+                new PatternWeightedPolicy())) {
+            System.out.println(benchmark.measure(policy, playouts, random));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size binary encodings of positions and moves for bulk I/O.
+ *
+ * A position takes {@value #POSITION_BYTES} bytes: bitmasks of white
+ * pieces, black pieces, and kings (see {@link GameState#getWhitePieces()}),
+ * followed by one byte for the active player. Multi-byte values use the
+ * byte order of the buffer, so readers and writers must agree on it.
+ *
+ * A move is packed into a long. The low 5 bits hold the start square
+ * minus one, the next 5 bits the number of offsets, and each following
+ * group of 3 bits one offset's ordinal, so up to {@value #MAX_MOVE_OFFSETS}
+ * offsets fit.
+ */
+public final class PositionCodec {
+
+    public static final int POSITION_BYTES = 13;
+    public static final int MAX_MOVE_OFFSETS = 18;
+    /** Encoded value used when there is no move, such as in a terminal position. */
+    public static final long NO_MOVE = -1L;
+
+    private static final Offset[] OFFSETS = Offset.values();
+
+    private PositionCodec() {}
+
+    /**
+     * Writes a position at the buffer's current position, advancing it.
+     *
+     * @param buffer Buffer with at least {@value #POSITION_BYTES} bytes remaining.
+     * @param gameState Position to write.
+     */
+    public static void writePosition(ByteBuffer buffer, GameState gameState) {
+        buffer.putInt(gameState.getWhitePieces());
+        buffer.putInt(gameState.getBlackPieces());
+        buffer.putInt(gameState.getKings());
+        buffer.put((byte) (gameState.getActivePlayer().equals("W") ? 'W' : 'B'));
+    }
+
+    /**
+     * Reads a position at the buffer's current position, advancing it.
+     *
+     * @throws IllegalArgumentException the bytes don't encode a valid position.
+     * @param buffer Buffer with at least {@value #POSITION_BYTES} bytes remaining.
+     * @return The decoded position.
+     */
+    public static GameState readPosition(ByteBuffer buffer) {
+        int whitePieces = buffer.getInt();
+        int blackPieces = buffer.getInt();
+        int kings = buffer.getInt();
+        return new GameState(whitePieces, blackPieces, kings, decodePlayer(buffer.get()));
+    }
+
+    /**
+     * Reads a position at an absolute index without moving the buffer's position.
+     *
+     * This suits random access into memory-mapped files of positions.
+     *
+     * @throws IllegalArgumentException the bytes don't encode a valid position.
+     * @param buffer Buffer holding the position.
+     * @param offset Byte offset of the position within the buffer.
+     * @return The decoded position.
+     */
+    public static GameState readPosition(ByteBuffer buffer, int offset) {
+        return new GameState(buffer.getInt(offset), buffer.getInt(offset + 4), buffer.getInt(offset + 8),
+                decodePlayer(buffer.get(offset + 12)));
+    }
+
+    /**
+     * Packs a move into a long.
+     *
+     * @throws IllegalArgumentException the move has more than {@value #MAX_MOVE_OFFSETS} offsets.
+     * @param move Move to encode, or null for {@link #NO_MOVE}.
+     * @return The encoded move.
+     */
+    public static long encodeMove(Move move) {
+        if (move == null) {
+            return NO_MOVE;
+        }
+        List<Offset> offsets = move.getOffsets();
+        if (offsets.size() > MAX_MOVE_OFFSETS) {
+            throw new IllegalArgumentException("Moves can have at most " + MAX_MOVE_OFFSETS + " offsets");
+        }
+        long encoded = (move.getStart() - 1) | ((long) offsets.size() << 5);
+        for (int i = 0; i < offsets.size(); i++) {
+            encoded |= (long) offsets.get(i).ordinal() << (10 + 3 * i);
+        }
+        return encoded;
+    }
+
+    /**
+     * Unpacks a move encoded by {@link #encodeMove(Move)}.
+     *
+     * @param encoded The encoded move.
+     * @return The decoded move, or null for {@link #NO_MOVE}.
+     */
+    public static Move decodeMove(long encoded) {
+        if (encoded == NO_MOVE) {
+            return null;
+        }
+        int start = (int) (encoded & 0x1F) + 1;
+        int count = (int) ((encoded >>> 5) & 0x1F);
+        List<Offset> offsets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            offsets.add(OFFSETS[(int) ((encoded >>> (10 + 3 * i)) & 0x7)]);
+        }
+        return new Move(start, offsets);
+    }
+
+    private static String decodePlayer(byte player) {
+        if (player == 'W') {
+            return "W";
+        } else if (player == 'B') {
+            return "B";
+        }
+        throw new IllegalArgumentException("Invalid active player byte: " + player);
+    }
+}
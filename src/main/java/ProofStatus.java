@@ -0,0 +1,11 @@
+/**
+ * Whether the outcome of a node has been proven by search.
+ *
+ * Like a node's value, a proof is from the perspective of the player who
+ * made the move leading to the node.
+ */
+public enum ProofStatus {
+    UNPROVEN,
+    WIN,
+    LOSS
+}
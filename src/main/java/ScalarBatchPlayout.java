@@ -0,0 +1,216 @@
+/**
+ * Plays random games one at a time on bitmasks.
+ *
+ * Moves are generated for every piece at once with shifts, as
+ * {@link VectorBatchPlayout} does for every game at once, so this also
+ * serves as its reference implementation and fallback.
+ */
+public class ScalarBatchPlayout implements BatchPlayout {
+
+    static final int MAX_MOVES = 1000;
+    static final int WHITE_PROMOTION_SQUARES = 0x0000000F;
+    static final int BLACK_PROMOTION_SQUARES = 0xF0000000;
+
+    // Indexed by Offset ordinal of a normal move (0-3). Steps change the
+    // index by a different amount on even and odd rows; jumps don't.
+    static final int[] STEP_EVEN_SOURCES = new int[4];
+    static final int[] STEP_ODD_SOURCES = new int[4];
+    static final int[] STEP_EVEN_SHIFTS = new int[4];
+    static final int[] STEP_ODD_SHIFTS = new int[4];
+    static final int[] JUMP_SOURCES = new int[4];
+    static final int[] JUMP_SHIFTS = new int[4];
+    // Whether each direction heads north, where white men move.
+    static final boolean[] NORTH = new boolean[4];
+
+    private final int maxMoves;
+
+    static {
+        Offset[] offsets = Offset.values();
+        for (int direction = 0; direction < 4; direction++) {
+            NORTH[direction] = offsets[direction] == Offset.MOVE_NORTHEAST
+                    || offsets[direction] == Offset.MOVE_NORTHWEST;
+            for (int index = 0; index < 32; index++) {
+                int step = GameState.addOffsetToSquare(offsets[direction], index);
+                if (step == -1) { continue; }
+                if ((index / 4) % 2 == 0) {
+                    STEP_EVEN_SOURCES[direction] |= 1 << index;
+                    STEP_EVEN_SHIFTS[direction] = step - index;
+                } else {
+                    STEP_ODD_SOURCES[direction] |= 1 << index;
+                    STEP_ODD_SHIFTS[direction] = step - index;
+                }
+                int jump = GameState.addOffsetToSquare(offsets[direction + 4], index);
+                if (jump != -1) {
+                    JUMP_SOURCES[direction] |= 1 << index;
+                    JUMP_SHIFTS[direction] = jump - index;
+                }
+            }
+        }
+    }
+
+    public ScalarBatchPlayout() {
+        this(MAX_MOVES);
+    }
+
+    /**
+     * Constructs a ScalarBatchPlayout that stops games early, so tests can
+     * inspect every step of a game.
+     *
+     * @param maxMoves Number of turns after which games end.
+     */
+    ScalarBatchPlayout(int maxMoves) {
+        this.maxMoves = maxMoves;
+    }
+
+    @Override
+    public void playout(int[] whitePieces, int[] blackPieces, int[] kings, boolean[] whiteToMove, int[] seeds,
+                        int count, boolean[] whiteWins) {
+        for (int i = 0; i < count; i++) {
+            whiteWins[i] = playout(whitePieces, blackPieces, kings, whiteToMove, seeds[i], i);
+        }
+    }
+
+    /**
+     * Plays one random game, leaving the position it ended in in the arrays.
+     *
+     * @return Whether white won.
+     */
+    private boolean playout(int[] whitePieces, int[] blackPieces, int[] kingSquares, boolean[] whiteToMoves,
+                            int seed, int game) {
+        int white = whitePieces[game];
+        int black = blackPieces[game];
+        int kings = kingSquares[game];
+        boolean whiteToMove = whiteToMoves[game];
+        int random = seed == 0 ? 0x9E3779B9 : seed;
+        int moves = 0;
+        // Square of a piece partway through a multi-capture, or 0.
+        int continuing = 0;
+        int[] choices = new int[4];
+        while (continuing != 0 || moves < maxMoves) {
+            int own = whiteToMove ? white : black;
+            int opponents = whiteToMove ? black : white;
+            int empty = ~(white | black);
+            random = nextRandom(random);
+
+            int pieces = 0;
+            for (int direction = 0; direction < 4; direction++) {
+                int movers = movers(own, kings, whiteToMove, direction, continuing);
+                choices[direction] = movers & JUMP_SOURCES[direction]
+                        & shift(empty, -JUMP_SHIFTS[direction]) & stepSources(opponents, direction);
+                pieces |= choices[direction];
+            }
+            boolean capture = pieces != 0;
+            if (!(capture)) {
+                for (int direction = 0; direction < 4; direction++) {
+                    choices[direction] = movers(own, kings, whiteToMove, direction, 0)
+                            & stepSources(empty, direction);
+                    pieces |= choices[direction];
+                }
+                // The player to move has lost.
+                if (pieces == 0) { break; }
+            }
+
+            // Pick the first movable piece after a random square, then its
+            // first direction from a random one onwards.
+            int rotation = random & 31;
+            int firstDirection = (random >>> 5) & 3;
+            int from = Integer.rotateLeft(Integer.lowestOneBit(Integer.rotateRight(pieces, rotation)), rotation);
+            int direction = -1;
+            for (int d = 0; d < 4; d++) {
+                if ((choices[(firstDirection + d) & 3] & from) != 0) {
+                    direction = (firstDirection + d) & 3;
+                    break;
+                }
+            }
+
+            int to;
+            int jumped = 0;
+            if (capture) {
+                jumped = stepTargets(from, direction);
+                to = shift(from, JUMP_SHIFTS[direction]);
+            } else {
+                to = stepTargets(from, direction);
+            }
+            boolean wasKing = (kings & from) != 0;
+            own = (own & ~from) | to;
+            opponents &= ~jumped;
+            kings &= ~(from | jumped);
+            boolean promoted = !(wasKing) && (to & (whiteToMove ? WHITE_PROMOTION_SQUARES
+                    : BLACK_PROMOTION_SQUARES)) != 0;
+            if (wasKing || promoted) {
+                kings |= to;
+            }
+            white = whiteToMove ? own : opponents;
+            black = whiteToMove ? opponents : own;
+
+            // Promoting ends one's turn; otherwise captures continue while possible.
+            continuing = 0;
+            if (capture && !(promoted)) {
+                int empties = ~(white | black);
+                for (int d = 0; d < 4; d++) {
+                    int jumps = movers(to, kings, whiteToMove, d, 0) & JUMP_SOURCES[d]
+                            & shift(empties, -JUMP_SHIFTS[d]) & stepSources(opponents, d);
+                    if (jumps != 0) {
+                        continuing = to;
+                        break;
+                    }
+                }
+            }
+            if (continuing == 0) {
+                whiteToMove = !(whiteToMove);
+                moves++;
+            }
+        }
+        whitePieces[game] = white;
+        blackPieces[game] = black;
+        kingSquares[game] = kings;
+        whiteToMoves[game] = whiteToMove;
+        // The last player to move wins.
+        return !(whiteToMove);
+    }
+
+    /**
+     * Finds the pieces that may move in a direction.
+     *
+     * @param own The mover's pieces.
+     * @param kings Squares holding kings.
+     * @param whiteToMove Whether white is moving.
+     * @param direction Offset ordinal of a normal move.
+     * @param continuing Square of a piece partway through a multi-capture, or 0.
+     * @return Pieces that move in that direction.
+     */
+    private static int movers(int own, int kings, boolean whiteToMove, int direction, int continuing) {
+        int movers = NORTH[direction] == whiteToMove ? own : own & kings;
+        return continuing == 0 ? movers : movers & continuing;
+    }
+
+    /**
+     * Finds the squares that a step in a direction would take to one of the targets.
+     */
+    static int stepSources(int targets, int direction) {
+        return (shift(targets, -STEP_EVEN_SHIFTS[direction]) & STEP_EVEN_SOURCES[direction])
+                | (shift(targets, -STEP_ODD_SHIFTS[direction]) & STEP_ODD_SOURCES[direction]);
+    }
+
+    /**
+     * Moves every square one step in a direction.
+     */
+    static int stepTargets(int squares, int direction) {
+        return shift(squares & STEP_EVEN_SOURCES[direction], STEP_EVEN_SHIFTS[direction])
+                | shift(squares & STEP_ODD_SOURCES[direction], STEP_ODD_SHIFTS[direction]);
+    }
+
+    static int shift(int squares, int amount) {
+        return amount >= 0 ? squares << amount : squares >>> -amount;
+    }
+
+    /**
+     * Advances a xorshift random number generator.
+     */
+    static int nextRandom(int random) {
+        random ^= random << 13;
+        random ^= random >>> 17;
+        random ^= random << 5;
+        return random;
+    }
+}
@@ -0,0 +1,82 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable snapshot of an in-progress search.
+ */
+public class SearchProgress {
+
+    private final long iterations;
+    private final long elapsedMillis;
+    private final List<Move> bestMoves;
+    private final List<Move> principalVariation;
+    private final List<MoveStatistics> rootStatistics;
+    private final boolean solved;
+
+    /**
+     * Constructs a SearchProgress.
+     *
+     * @param iterations Iterations performed since the search started.
+     * @param elapsedMillis Time spent searching in milliseconds.
+     * @param bestMoves Best move(s) from the root at the time of the snapshot.
+     * @param principalVariation Line of most visited moves starting from the root.
+     * @param rootStatistics Statistics for every move from the root.
+     * @param solved Whether the outcome of the root position has been proven.
+     */
+    public SearchProgress(long iterations, long elapsedMillis, List<Move> bestMoves,
+                          List<Move> principalVariation, List<MoveStatistics> rootStatistics, boolean solved) {
+        this.iterations = iterations;
+        this.elapsedMillis = elapsedMillis;
+        this.bestMoves = Collections.unmodifiableList(bestMoves);
+        this.principalVariation = Collections.unmodifiableList(principalVariation);
+        this.rootStatistics = Collections.unmodifiableList(rootStatistics);
+        this.solved = solved;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Gets the average search speed since the search started.
+     *
+     * @return Iterations per second, or 0 if no time has elapsed.
+     */
+    public double getIterationsPerSecond() {
+        return elapsedMillis == 0 ? 0.0 : iterations * 1000.0 / elapsedMillis;
+    }
+
+    public List<Move> getBestMoves() {
+        return bestMoves;
+    }
+
+    public List<Move> getPrincipalVariation() {
+        return principalVariation;
+    }
+
+    public List<MoveStatistics> getRootStatistics() {
+        return rootStatistics;
+    }
+
+    /**
+     * Checks if the search had proven the outcome of the root position.
+     *
+     * @return Whether further search can't change the best moves.
+     * @see MCTSDraughtsSearcher#isSolved()
+     */
+    public boolean isSolved() {
+        return solved;
+    }
+
+    @Override
+    public String toString() {
+        return "Iterations: " + iterations
+                + ", Iterations/s: " + Math.round(getIterationsPerSecond())
+                + ", Best Moves: " + bestMoves
+                + ", PV: " + principalVariation;
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Receives periodic snapshots from a running {@link MCTSDraughtsSearcher}.
+ *
+ * Listeners are called on the searching thread between iterations, and the
+ * search is paused until every listener returns. Snapshots are cheap to
+ * build, but a slow listener slows the search down by however long it
+ * takes, so listeners that do real work should hand the snapshot off to
+ * another thread (such as a UI thread or an executor) and return, which
+ * is safe since snapshots are immutable. A listener may call
+ * {@link MCTSDraughtsSearcher#stop()} to end the search early.
+ */
+@FunctionalInterface
+public interface SearchProgressListener {
+
+    /**
+     * Called with a snapshot of the search.
+     *
+     * @param progress Current state of the search.
+     */
+    void onProgress(SearchProgress progress);
+
+}
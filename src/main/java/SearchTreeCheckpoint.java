@@ -0,0 +1,220 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Saves search trees to disk and loads them back to continue searching.
+ *
+ * The file holds a header and the root position (see
+ * {@link PositionCodec#writePosition(ByteBuffer, GameState)}), then every
+ * node in depth-first order: its move (see
+ * {@link PositionCodec#encodeMove(Move)}), visits, value, AMAF statistics,
+ * heuristic value, prior visits, proof status, and number of children.
+ * Nodes are written straight from the tree as it is walked, so saving needs no memory
+ * beyond a stack as deep as the tree. Game states aren't stored; they are
+ * rebuilt from the moves when loading, which checks that every move is legal.
+ *
+ * Searcher settings such as RAVE or playout policies aren't saved and must
+ * be applied again after loading. A tree must not be searched while it is
+ * being saved.
+ */
+public final class SearchTreeCheckpoint {
+
+    private static final int MAGIC = 0x4D435453; // "MCTS"
+    private static final int VERSION = 1;
+    private static final ProofStatus[] PROOF_STATUSES = ProofStatus.values();
+
+    private SearchTreeCheckpoint() {}
+
+    /**
+     * Saves a searcher's tree to a file.
+     *
+     * @throws IOException the file couldn't be written.
+     * @param searcher Searcher whose tree to save.
+     * @param path File to write.
+     * @param minVisits Nodes with fewer visits are saved without their
+     *                  children, which will be expanded again when searched.
+     *                  Proven nodes always keep their children, which their
+     *                  proofs rest on.
+     * @return Number of nodes written.
+     */
+    public static long save(MCTSDraughtsSearcher searcher, Path path, int minVisits) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+            return save(searcher.getRoot(), out, minVisits);
+        }
+    }
+
+    /**
+     * Writes a tree to a stream.
+     *
+     * @throws IOException the stream failed.
+     * @param root Root of the tree to save.
+     * @param outputStream Destination for the tree. It isn't closed.
+     * @param minVisits Nodes with fewer visits are saved without their children, unless proven.
+     * @return Number of nodes written.
+     */
+    public static long save(MCTSNode root, OutputStream outputStream, int minVisits) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        ByteBuffer position = ByteBuffer.allocate(PositionCodec.POSITION_BYTES);
+        PositionCodec.writePosition(position, root.getData());
+        out.write(position.array());
+
+        long nodes = 0;
+        // Iterators over the children still to be written at each level.
+        Deque<Iterator<MCTSNode>> stack = new ArrayDeque<>();
+        writeNode(out, root, minVisits);
+        nodes++;
+        if (keepsChildren(root, minVisits)) {
+            stack.push(root.getChildren().iterator());
+        }
+        while (!(stack.isEmpty())) {
+            Iterator<MCTSNode> children = stack.peek();
+            if (!(children.hasNext())) {
+                stack.pop();
+                continue;
+            }
+            MCTSNode child = children.next();
+            writeNode(out, child, minVisits);
+            nodes++;
+            if (keepsChildren(child, minVisits)) {
+                stack.push(child.getChildren().iterator());
+            }
+        }
+        out.flush();
+        return nodes;
+    }
+
+    /**
+     * Loads a tree saved by {@link #save(MCTSDraughtsSearcher, Path, int)} into a new searcher.
+     *
+     * @throws IOException the file couldn't be read or isn't a checkpoint.
+     * @param path File to read.
+     * @param explorationParameter Exploration parameter for the new searcher.
+     * @return A searcher that continues from the saved tree.
+     */
+    public static MCTSDraughtsSearcher load(Path path, double explorationParameter) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+            return new MCTSDraughtsSearcher(load(in), explorationParameter);
+        }
+    }
+
+    /**
+     * Reads a tree from a stream.
+     *
+     * @throws IOException the stream failed or doesn't hold a checkpoint.
+     * @param inputStream Source of the tree. It isn't closed.
+     * @return Root of the loaded tree.
+     */
+    public static MCTSNode load(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a search tree checkpoint");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint version: " + version);
+        }
+        GameState rootState;
+        byte[] position = new byte[PositionCodec.POSITION_BYTES];
+        in.readFully(position);
+        try {
+            rootState = PositionCodec.readPosition(ByteBuffer.wrap(position));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Checkpoint holds an invalid root position", e);
+        }
+
+        MCTSNode root = new MCTSNode(0, 0, null, new ArrayList<>(), rootState);
+        int rootChildren = readNode(in, root);
+        // For each level, the node being filled in, how many children it
+        // still expects, and the legal moves its children may be reached by.
+        Deque<MCTSNode> parents = new ArrayDeque<>();
+        Deque<Integer> remaining = new ArrayDeque<>();
+        Deque<List<Move>> legalMoves = new ArrayDeque<>();
+        if (rootChildren > 0) {
+            parents.push(root);
+            remaining.push(rootChildren);
+            legalMoves.push(rootState.generateLegalMoves());
+        }
+        while (!(parents.isEmpty())) {
+            if (remaining.peek() == 0) {
+                parents.pop();
+                remaining.pop();
+                legalMoves.pop();
+                continue;
+            }
+            remaining.push(remaining.pop() - 1);
+            MCTSNode parent = parents.peek();
+            MCTSNode child = new MCTSNode(parent);
+            int childCount = readNode(in, child);
+            // Replaying a missing or illegal move would corrupt the tree.
+            if (child.getMove() == null || !(legalMoves.peek().contains(child.getMove()))) {
+                throw new IOException("Checkpoint holds an illegal move");
+            }
+            GameState gameState = new GameState(parent.getData());
+            gameState.makeMove(child.getMove());
+            gameState.swapActivePlayer();
+            child.setData(gameState);
+            parent.addChild(child);
+            if (childCount > 0) {
+                parents.push(child);
+                remaining.push(childCount);
+                legalMoves.push(gameState.generateLegalMoves());
+            }
+        }
+        return root;
+    }
+
+    private static boolean keepsChildren(MCTSNode node, int minVisits) {
+        // A proven node without the children that prove it couldn't be searched again.
+        return (node.getVisits() >= minVisits || node.isProven()) && !(node.isLeaf());
+    }
+
+    private static void writeNode(DataOutputStream out, MCTSNode node, int minVisits) throws IOException {
+        out.writeLong(PositionCodec.encodeMove(node.getMove()));
+        out.writeInt(node.getVisits());
+        out.writeDouble(node.getValue());
+        out.writeInt(node.getAmafVisits());
+        out.writeDouble(node.getAmafValue());
+        out.writeDouble(node.getHeuristicValue());
+        out.writeInt(node.getPriorVisits());
+        out.writeByte(node.getProofStatus().ordinal());
+        out.writeInt(keepsChildren(node, minVisits) ? node.getChildren().size() : 0);
+    }
+
+    /**
+     * Reads one node's statistics into a node.
+     *
+     * @return The number of children that follow.
+     */
+    private static int readNode(DataInputStream in, MCTSNode node) throws IOException {
+        try {
+            node.setMove(PositionCodec.decodeMove(in.readLong()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Checkpoint holds an invalid move", e);
+        }
+        node.setVisits(in.readInt());
+        node.setValue(in.readDouble());
+        node.setAmafVisits(in.readInt());
+        node.setAmafValue(in.readDouble());
+        node.setHeuristicValue(in.readDouble());
+        node.setPriorVisits(in.readInt());
+        int proof = in.readByte();
+        if (proof < 0 || proof >= PROOF_STATUSES.length) {
+            throw new IOException("Checkpoint holds an invalid proof status");
+        }
+        node.setProofStatus(PROOF_STATUSES[proof]);
+        int children = in.readInt();
+        if (children < 0) {
+            throw new IOException("Checkpoint holds a negative child count");
+        }
+        return children;
+    }
+}
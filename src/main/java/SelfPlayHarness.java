@@ -0,0 +1,290 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays many engine-vs-engine games concurrently.
+ *
+ * In each game, each side owns one {@link MCTSDraughtsSearcher}, which is
+ * advanced through both sides' moves so it reuses the tree it built on
+ * earlier moves. White and black may use different exploration parameters,
+ * which makes the harness suitable for tuning. Games are recorded in PDN
+ * as they finish.
+ */
+public class SelfPlayHarness {
+
+    public static final String WHITE_WINS = "1-0";
+    public static final String BLACK_WINS = "0-1";
+    public static final String DRAW = "1/2-1/2";
+
+    private final int iterationsPerMove;
+    private final int threads;
+    private final double whiteExplorationParameter;
+    private final double blackExplorationParameter;
+    private final int maxPlies;
+    private Long seed = null;
+
+    /**
+     * Constructs a SelfPlayHarness.
+     *
+     * @param iterationsPerMove Search iterations before each move, fewer once the position is solved.
+     * @param threads Number of games to play at once.
+     * @param whiteExplorationParameter Exploration parameter used when white is to move.
+     * @param blackExplorationParameter Exploration parameter used when black is to move.
+     * @param maxPlies Number of plies after which a game is declared drawn.
+     */
+    public SelfPlayHarness(int iterationsPerMove, int threads, double whiteExplorationParameter,
+                           double blackExplorationParameter, int maxPlies) {
+        if (iterationsPerMove < 1) {
+            throw new IllegalArgumentException("iterationsPerMove must be >=1");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be >=1");
+        }
+        this.iterationsPerMove = iterationsPerMove;
+        this.threads = threads;
+        this.whiteExplorationParameter = whiteExplorationParameter;
+        this.blackExplorationParameter = blackExplorationParameter;
+        this.maxPlies = maxPlies;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Makes the games reproducible.
+     *
+     * Each game's searcher is seeded from this seed and the game's round,
+     * so results don't depend on which thread plays it.
+     *
+     * @param seed Seed for the whole run, or null for unseeded searches.
+     * @see MCTSDraughtsSearcher#deriveSeed(long, long)
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Plays a number of games from the standard starting position.
+     *
+     * @throws IOException writing a game record failed.
+     * @param games Number of games to play.
+     * @param out Destination for PDN game records, or null to discard them.
+     * @return Results and throughput of the run.
+     */
+    public Summary play(int games, Writer out) throws IOException {
+        long startNanos = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        PdnWriter pdnWriter = out == null ? null : new PdnWriter(out);
+        List<Future<PdnGame>> futures = new ArrayList<>();
+        int whiteWins = 0;
+        int blackWins = 0;
+        int draws = 0;
+        long plies = 0;
+        try {
+            for (int i = 0; i < games; i++) {
+                final int round = i + 1;
+                futures.add(executor.submit(() -> {
+                    PdnGame game = playGame(round);
+                    if (pdnWriter != null) {
+                        synchronized (pdnWriter) {
+                            pdnWriter.writeGame(game);
+                        }
+                    }
+                    return game;
+                }));
+            }
+            for (Future<PdnGame> future : futures) {
+                PdnGame game = future.get();
+                plies += game.getMoves().size();
+                switch (game.getResult()) {
+                    case WHITE_WINS:
+                        whiteWins++;
+                        break;
+                    case BLACK_WINS:
+                        blackWins++;
+                        break;
+                    default:
+                        draws++;
+                        break;
+                }
+            }
+            if (pdnWriter != null) {
+                pdnWriter.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for games");
+        } catch (ExecutionException e) {
+            throw new IOException("Self-play game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Summary(games, whiteWins, blackWins, draws, plies, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Plays one game from the standard starting position.
+     *
+     * A player with no legal moves loses. A game reaching the ply limit is drawn.
+     *
+     * @param round Game number, recorded in the PDN "Round" tag.
+     * @return The finished game.
+     */
+    public PdnGame playGame(int round) {
+        PdnGame game = new PdnGame();
+        game.getTags().put("Event", "Self-play");
+        game.getTags().put("Round", Integer.toString(round));
+        game.getTags().put("White", "MCTSDraughts C=" + whiteExplorationParameter);
+        game.getTags().put("Black", "MCTSDraughts C=" + blackExplorationParameter);
+
+        GameState gameState = new GameState();
+        // Each side keeps its own tree, grown only under its own exploration parameter.
+        MCTSDraughtsSearcher whiteSearcher = new MCTSDraughtsSearcher(new GameState(gameState),
+                whiteExplorationParameter);
+        MCTSDraughtsSearcher blackSearcher = new MCTSDraughtsSearcher(new GameState(gameState),
+                blackExplorationParameter);
+        if (seed != null) {
+            whiteSearcher.setSeed(MCTSDraughtsSearcher.deriveSeed(seed, 2L * round));
+            blackSearcher.setSeed(MCTSDraughtsSearcher.deriveSeed(seed, 2L * round + 1));
+        }
+        String result = DRAW;
+        for (int ply = 0; ply < maxPlies; ply++) {
+            List<Move> legalMoves = gameState.generateLegalMoves();
+            if (legalMoves.isEmpty()) {
+                result = gameState.getActivePlayer().equals("W") ? BLACK_WINS : WHITE_WINS;
+                break;
+            }
+
+            Move move;
+            if (legalMoves.size() == 1) {
+                // Forced moves (usually captures) don't need a search.
+                move = legalMoves.get(0);
+            } else {
+                MCTSDraughtsSearcher searcher = gameState.getActivePlayer().equals("W")
+                        ? whiteSearcher : blackSearcher;
+                searcher.searchIterations(iterationsPerMove);
+                move = searcher.getBestMoves().get(0);
+            }
+
+            game.addMove(move.toNotation(), null);
+            gameState.makeMove(move);
+            gameState.swapActivePlayer();
+            whiteSearcher.advance(move);
+            blackSearcher.advance(move);
+        }
+        game.getTags().put("Result", result);
+        game.setResult(result);
+        return game;
+    }
+
+    /**
+     * Results and throughput of one run of {@link #play(int, Writer)}.
+     */
+    public static class Summary {
+
+        private final int games;
+        private final int whiteWins;
+        private final int blackWins;
+        private final int draws;
+        private final long plies;
+        private final long elapsedMillis;
+
+        public Summary(int games, int whiteWins, int blackWins, int draws, long plies, long elapsedMillis) {
+            this.games = games;
+            this.whiteWins = whiteWins;
+            this.blackWins = blackWins;
+            this.draws = draws;
+            this.plies = plies;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public int getWhiteWins() {
+            return whiteWins;
+        }
+
+        public int getBlackWins() {
+            return blackWins;
+        }
+
+        public int getDraws() {
+            return draws;
+        }
+
+        public long getPlies() {
+            return plies;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public double getGamesPerHour() {
+            return elapsedMillis == 0 ? 0.0 : games * 3_600_000.0 / elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "Games: " + games
+                    + ", White W/D/L: " + whiteWins + "/" + draws + "/" + blackWins
+                    + ", Black W/D/L: " + blackWins + "/" + draws + "/" + whiteWins
+                    + ", Average Plies: " + (games == 0 ? 0 : plies / games)
+                    + ", Games/h: " + String.format("%.1f", getGamesPerHour());
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: java -cp MCTSDraughts.jar SelfPlayHarness [Games] [Iterations per Move] "
+                    + "[Output PDN] [Threads (optional)] [White Exploration Parameter (optional)] "
+                    + "[Black Exploration Parameter (optional)] [Seed (optional)]");
+            System.exit(1);
+        }
+
+        int games = 0;
+        int iterations = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        double whiteExploration = Math.sqrt(2.0);
+        double blackExploration = Math.sqrt(2.0);
+        Long seed = null;
+        try {
+            games = Integer.parseInt(args[0]);
+            iterations = Integer.parseInt(args[1]);
+            if (args.length > 3) {
+                threads = Integer.parseInt(args[3]);
+            }
+            if (args.length > 4) {
+                whiteExploration = Double.parseDouble(args[4]);
+            }
+            if (args.length > 5) {
+                blackExploration = Double.parseDouble(args[5]);
+            }
+            if (args.length > 6) {
+                seed = Long.parseLong(args[6]);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Please input valid numeric arguments.");
+            System.exit(1);
+        }
+
+        SelfPlayHarness harness = new SelfPlayHarness(iterations, threads, whiteExploration, blackExploration, 300);
+        harness.setSeed(seed);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(args[2]),
+                StandardCharsets.UTF_8))) {
+            System.out.println(harness.play(games, out));
+        } catch (IOException e) {
+            System.out.println("Could not play games: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+import java.util.Arrays;
+
+/**
+ * Estimates the outcome of a position without searching it.
+ *
+ * The estimate adds up material (kings count more than men), men still
+ * guarding their own back row, and mobility, then squashes the total into
+ * a win probability. Mobility counts each side's non-capturing steps with
+ * a few shifts of the bitmasks rather than by generating moves. It is far
+ * too crude to play with on its own, but cheap enough to give new search
+ * nodes a sensible starting value.
+ *
+ * @see MCTSDraughtsSearcher#setStaticEvaluator(StaticEvaluator, int, double)
+ */
+public class StaticEvaluator {
+
+    public static final int MAN_SCORE = 100;
+    public static final int KING_SCORE = 140;
+    private static final int BACK_ROW_SCORE = 15;
+    private static final int MOBILITY_SCORE = 4;
+    private static final double SCALE = 150.0;
+
+    // Zero-indexed squares of each side's back row.
+    private static final int WHITE_BACK_ROW = 0xF0000000;
+    private static final int BLACK_BACK_ROW = 0x0000000F;
+
+    // For each Offset ordinal of a normal move, the distinct shifts between
+    // a square and its neighbour in that direction, and the squares each
+    // shift applies to. Shifts differ between odd and even rows.
+    private static final int[][] STEP_SHIFTS = new int[4][];
+    private static final int[][] STEP_SOURCES = new int[4][];
+
+    static {
+        Offset[] offsets = Offset.values();
+        for (int direction = 0; direction < 4; direction++) {
+            int[] shifts = new int[2];
+            int[] sources = new int[2];
+            int found = 0;
+            for (int index = 0; index < 32; index++) {
+                int end = GameState.addOffsetToSquare(offsets[direction], index);
+                if (end == -1) { continue; }
+                int shift = end - index;
+                int k = 0;
+                while (k < found && shifts[k] != shift) { k++; }
+                if (k == found) {
+                    shifts[found++] = shift;
+                }
+                sources[k] |= 1 << index;
+            }
+            STEP_SHIFTS[direction] = Arrays.copyOf(shifts, found);
+            STEP_SOURCES[direction] = Arrays.copyOf(sources, found);
+        }
+    }
+
+    /**
+     * Estimates the active player's chance of winning.
+     *
+     * @param gameState Position to evaluate.
+     * @return Win probability in the range 0-1 for the active player.
+     */
+    public double evaluate(GameState gameState) {
+        return 1.0 / (1.0 + Math.exp(-score(gameState) / SCALE));
+    }
+
+    /**
+     * Scores a position from the active player's perspective.
+     *
+     * @param gameState Position to score.
+     * @return Score in hundredths of a man.
+     */
+    public int score(GameState gameState) {
+        int white = gameState.getWhitePieces();
+        int black = gameState.getBlackPieces();
+        int kings = gameState.getKings();
+        int whiteScore = BACK_ROW_SCORE * Integer.bitCount(white & ~kings & WHITE_BACK_ROW);
+        int blackScore = BACK_ROW_SCORE * Integer.bitCount(black & ~kings & BLACK_BACK_ROW);
+
+        // Mobility: compare the number of steps each side could make.
+        int empty = ~(white | black);
+        whiteScore += MOBILITY_SCORE * countSteps(white, kings, true, empty);
+        blackScore += MOBILITY_SCORE * countSteps(black, kings, false, empty);
+
+        int score = materialBalance(gameState);
+        return gameState.getActivePlayer().equals("W")
+                ? score + whiteScore - blackScore
+                : score + blackScore - whiteScore;
+    }
+
+    /**
+     * Counts the non-capturing moves one side's pieces could make.
+     *
+     * @param pieces The side's pieces.
+     * @param kings Every king on the board.
+     * @param white Whether the side is white, whose men move north.
+     * @param empty Empty squares.
+     * @return Number of steps onto an empty square, ignoring whether a capture is mandatory.
+     */
+    static int countSteps(int pieces, int kings, boolean white, int empty) {
+        int forward = white ? Offset.MOVE_NORTHEAST.ordinal() : Offset.MOVE_SOUTHEAST.ordinal();
+        int backward = white ? Offset.MOVE_SOUTHEAST.ordinal() : Offset.MOVE_NORTHEAST.ordinal();
+        // The east and west directions of each pair have consecutive ordinals.
+        return countSteps(pieces, forward, empty) + countSteps(pieces, forward + 1, empty)
+                + countSteps(pieces & kings, backward, empty) + countSteps(pieces & kings, backward + 1, empty);
+    }
+
+    private static int countSteps(int pieces, int direction, int empty) {
+        int count = 0;
+        for (int k = 0; k < STEP_SHIFTS[direction].length; k++) {
+            int movers = pieces & STEP_SOURCES[direction][k];
+            int shift = STEP_SHIFTS[direction][k];
+            count += Integer.bitCount((shift > 0 ? movers << shift : movers >>> -shift) & empty);
+        }
+        return count;
+    }
+
+    /**
+     * Counts material from the active player's perspective.
+     *
+     * @param gameState Position to count.
+     * @return The active player's material minus the opponent's, in hundredths of a man.
+     */
+    public static int materialBalance(GameState gameState) {
+        int white = gameState.getWhitePieces();
+        int black = gameState.getBlackPieces();
+        int kings = gameState.getKings();
+        int whiteScore = MAN_SCORE * Integer.bitCount(white & ~kings) + KING_SCORE * Integer.bitCount(white & kings);
+        int blackScore = MAN_SCORE * Integer.bitCount(black & ~kings) + KING_SCORE * Integer.bitCount(black & kings);
+        return gameState.getActivePlayer().equals("W") ? whiteScore - blackScore : blackScore - whiteScore;
+    }
+}
@@ -0,0 +1,20 @@
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Chooses every legal move with equal probability.
+ *
+ * This is the cheapest policy and the default for {@link MCTSDraughtsSearcher}.
+ */
+public class UniformRandomPolicy implements PlayoutPolicy {
+
+    @Override
+    public Move chooseMove(GameState gameState, List<Move> legalMoves, Random random) {
+        return legalMoves.get(random.nextInt(legalMoves.size()));
+    }
+
+    @Override
+    public String toString() {
+        return "UniformRandom";
+    }
+}
@@ -0,0 +1,323 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Plays random games in the lanes of SIMD vectors with the Vector API.
+ *
+ * Every lane holds one game as three bitmasks, so a 256-bit vector
+ * advances eight games per instruction and a 512-bit vector sixteen. Each
+ * step generates jumps or steps for every piece of every game with shifts,
+ * picks one per game at random with rotations, and applies it, exactly as
+ * {@link ScalarBatchPlayout} does one game at a time. As soon as a lane's
+ * game ends, the lane starts the next game waiting to be played.
+ *
+ * A step is split into choosing and applying moves, which pass lane state
+ * through arrays. Each half is small enough for the JIT compiler to inline
+ * completely, which it must for vectors to stay in registers instead of
+ * being allocated on the heap.
+ *
+ * Requires {@code --add-modules jdk.incubator.vector}; use
+ * {@link BatchPlayout#create()} to fall back gracefully without it.
+ */
+public class VectorBatchPlayout implements BatchPlayout {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    private final int maxMoves;
+
+    // Per-lane game state.
+    private final int[] laneWhite = new int[LANES];
+    private final int[] laneBlack = new int[LANES];
+    private final int[] laneKings = new int[LANES];
+    // -1 where white is to move, 0 where black is.
+    private final int[] laneSide = new int[LANES];
+    private final int[] laneRandom = new int[LANES];
+    private final int[] laneMoves = new int[LANES];
+    // Square of a piece partway through a multi-capture, or 0.
+    private final int[] laneContinuing = new int[LANES];
+    // -1 where white won, 0 where black won.
+    private final int[] laneWinner = new int[LANES];
+    private final boolean[] laneActive = new boolean[LANES];
+    private final boolean[] laneFinished = new boolean[LANES];
+    private final int[] laneGame = new int[LANES];
+    // Moves chosen in the current step, passed from chooseMoves to applyMoves.
+    private final int[] laneFrom = new int[LANES];
+    private final int[] laneDirection = new int[LANES];
+    // -1 where the move is a capture, 0 where it's a step.
+    private final int[] laneCapture = new int[LANES];
+
+    public VectorBatchPlayout() {
+        this(ScalarBatchPlayout.MAX_MOVES);
+    }
+
+    /**
+     * Constructs a VectorBatchPlayout that stops games early, so tests can
+     * inspect every step of a game.
+     *
+     * @param maxMoves Number of turns after which games end.
+     */
+    VectorBatchPlayout(int maxMoves) {
+        this.maxMoves = maxMoves;
+    }
+
+    /**
+     * Gets the number of games played at once.
+     *
+     * @return Lanes per vector on this machine.
+     */
+    public int getLanes() {
+        return LANES;
+    }
+
+    @Override
+    public void playout(int[] whitePieces, int[] blackPieces, int[] kings, boolean[] whiteToMove, int[] seeds,
+                        int count, boolean[] whiteWins) {
+        int nextGame = 0;
+        int activeLanes = 0;
+        for (int lane = 0; lane < LANES; lane++) {
+            laneActive[lane] = nextGame < count;
+            if (laneActive[lane]) {
+                loadGame(lane, nextGame++, whitePieces, blackPieces, kings, whiteToMove, seeds);
+                activeLanes++;
+            }
+        }
+
+        while (activeLanes > 0) {
+            // Evaluate both halves so that games finishing in either are recorded.
+            boolean finished = chooseMoves();
+            finished |= applyMoves();
+            if (!(finished)) { continue; }
+
+            // Record the finished games and start the next ones in their lanes.
+            for (int lane = 0; lane < LANES; lane++) {
+                if (!(laneFinished[lane])) { continue; }
+                int game = laneGame[lane];
+                whiteWins[game] = laneWinner[lane] != 0;
+                whitePieces[game] = laneWhite[lane];
+                blackPieces[game] = laneBlack[lane];
+                kings[game] = laneKings[lane];
+                whiteToMove[game] = laneSide[lane] != 0;
+                laneFinished[lane] = false;
+                if (nextGame < count) {
+                    loadGame(lane, nextGame++, whitePieces, blackPieces, kings, whiteToMove, seeds);
+                    laneActive[lane] = true;
+                } else {
+                    activeLanes--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Chooses a random jump or step in every active game.
+     *
+     * @return Whether any game ended because the player to move had no legal moves.
+     */
+    private boolean chooseMoves() {
+        IntVector white = IntVector.fromArray(SPECIES, laneWhite, 0);
+        IntVector black = IntVector.fromArray(SPECIES, laneBlack, 0);
+        IntVector kings = IntVector.fromArray(SPECIES, laneKings, 0);
+        IntVector side = IntVector.fromArray(SPECIES, laneSide, 0);
+        IntVector continuing = IntVector.fromArray(SPECIES, laneContinuing, 0);
+        VectorMask<Integer> active = VectorMask.fromArray(SPECIES, laneActive, 0);
+        IntVector random = nextRandom(IntVector.fromArray(SPECIES, laneRandom, 0));
+        random.intoArray(laneRandom, 0);
+
+        VectorMask<Integer> whiteMask = side.compare(VectorOperators.NE, 0);
+        IntVector own = black.blend(white, whiteMask);
+        IntVector opponents = white.blend(black, whiteMask);
+        IntVector empty = white.or(black).not();
+        VectorMask<Integer> isContinuing = continuing.compare(VectorOperators.NE, 0);
+
+        IntVector choices0 = jumps(own, kings, whiteMask, continuing, isContinuing, empty, opponents, 0);
+        IntVector choices1 = jumps(own, kings, whiteMask, continuing, isContinuing, empty, opponents, 1);
+        IntVector choices2 = jumps(own, kings, whiteMask, continuing, isContinuing, empty, opponents, 2);
+        IntVector choices3 = jumps(own, kings, whiteMask, continuing, isContinuing, empty, opponents, 3);
+        IntVector pieces = choices0.or(choices1).or(choices2).or(choices3);
+        VectorMask<Integer> capture = pieces.compare(VectorOperators.NE, 0);
+        VectorMask<Integer> steps = capture.not();
+        if (steps.anyTrue()) {
+            choices0 = choices0.blend(steps(own, kings, whiteMask, empty, 0), steps);
+            choices1 = choices1.blend(steps(own, kings, whiteMask, empty, 1), steps);
+            choices2 = choices2.blend(steps(own, kings, whiteMask, empty, 2), steps);
+            choices3 = choices3.blend(steps(own, kings, whiteMask, empty, 3), steps);
+            pieces = choices0.or(choices1).or(choices2).or(choices3);
+        }
+
+        // Pick the first movable piece after a random square, then its
+        // first direction from a random one onwards. Rotations by a vector
+        // aren't intrinsified in every JDK, so rotate with shifts.
+        IntVector rotation = random.and(31);
+        IntVector inverseRotation = rotation.neg().and(31);
+        IntVector rotated = pieces.lanewise(VectorOperators.LSHR, rotation)
+                .or(pieces.lanewise(VectorOperators.LSHL, inverseRotation));
+        IntVector lowest = rotated.and(rotated.neg());
+        IntVector from = lowest.lanewise(VectorOperators.LSHL, rotation)
+                .or(lowest.lanewise(VectorOperators.LSHR, inverseRotation));
+        IntVector firstDirection = random.lanewise(VectorOperators.LSHR, 5).and(3);
+        VectorMask<Integer> has0 = choices0.and(from).compare(VectorOperators.NE, 0);
+        VectorMask<Integer> has1 = choices1.and(from).compare(VectorOperators.NE, 0);
+        VectorMask<Integer> has2 = choices2.and(from).compare(VectorOperators.NE, 0);
+        VectorMask<Integer> has3 = choices3.and(from).compare(VectorOperators.NE, 0);
+        // The lowest direction wraps around; the lowest from the first direction on takes precedence.
+        IntVector direction = IntVector.broadcast(SPECIES, 3).blend(2, has2).blend(1, has1).blend(0, has0)
+                .blend(3, has3.and(firstDirection.compare(VectorOperators.LE, 3)))
+                .blend(2, has2.and(firstDirection.compare(VectorOperators.LE, 2)))
+                .blend(1, has1.and(firstDirection.compare(VectorOperators.LE, 1)))
+                .blend(0, has0.and(firstDirection.compare(VectorOperators.LE, 0)));
+        from.intoArray(laneFrom, 0);
+        direction.intoArray(laneDirection, 0);
+        IntVector.zero(SPECIES).blend(-1, capture).intoArray(laneCapture, 0);
+
+        // The player to move has lost.
+        VectorMask<Integer> lost = active.and(pieces.compare(VectorOperators.EQ, 0));
+        if (!(lost.anyTrue())) { return false; }
+        IntVector.fromArray(SPECIES, laneWinner, 0).blend(side.not(), lost).intoArray(laneWinner, 0);
+        active.andNot(lost).intoArray(laneActive, 0);
+        lost.intoArray(laneFinished, 0);
+        return true;
+    }
+
+    /**
+     * Applies the chosen moves in every active game.
+     *
+     * @return Whether any game ended by reaching the move limit.
+     */
+    private boolean applyMoves() {
+        IntVector white = IntVector.fromArray(SPECIES, laneWhite, 0);
+        IntVector black = IntVector.fromArray(SPECIES, laneBlack, 0);
+        IntVector kings = IntVector.fromArray(SPECIES, laneKings, 0);
+        IntVector side = IntVector.fromArray(SPECIES, laneSide, 0);
+        IntVector moves = IntVector.fromArray(SPECIES, laneMoves, 0);
+        IntVector from = IntVector.fromArray(SPECIES, laneFrom, 0);
+        IntVector direction = IntVector.fromArray(SPECIES, laneDirection, 0);
+        VectorMask<Integer> capture = IntVector.fromArray(SPECIES, laneCapture, 0)
+                .compare(VectorOperators.NE, 0);
+        VectorMask<Integer> active = VectorMask.fromArray(SPECIES, laneActive, 0);
+        VectorMask<Integer> whiteMask = side.compare(VectorOperators.NE, 0);
+        IntVector own = black.blend(white, whiteMask);
+        IntVector opponents = white.blend(black, whiteMask);
+
+        IntVector stepped = stepTargets(from, 3);
+        IntVector jumpedTo = shift(from, ScalarBatchPlayout.JUMP_SHIFTS[3]);
+        for (int d = 2; d >= 0; d--) {
+            VectorMask<Integer> moving = direction.compare(VectorOperators.EQ, d);
+            stepped = stepped.blend(stepTargets(from, d), moving);
+            jumpedTo = jumpedTo.blend(shift(from, ScalarBatchPlayout.JUMP_SHIFTS[d]), moving);
+        }
+        IntVector to = stepped.blend(jumpedTo, capture);
+        IntVector jumped = IntVector.zero(SPECIES).blend(stepped, capture);
+
+        VectorMask<Integer> wasKing = kings.and(from).compare(VectorOperators.NE, 0);
+        IntVector newOwn = own.and(from.not()).or(to);
+        IntVector newOpponents = opponents.and(jumped.not());
+        IntVector newKings = kings.and(from.or(jumped).not());
+        IntVector promotionSquares = IntVector.broadcast(SPECIES, ScalarBatchPlayout.BLACK_PROMOTION_SQUARES)
+                .blend(ScalarBatchPlayout.WHITE_PROMOTION_SQUARES, whiteMask);
+        VectorMask<Integer> promoted = wasKing.not().and(to.and(promotionSquares).compare(VectorOperators.NE, 0));
+        newKings = newKings.blend(newKings.or(to), wasKing.or(promoted));
+        IntVector newWhite = newOpponents.blend(newOwn, whiteMask);
+        IntVector newBlack = newOwn.blend(newOpponents, whiteMask);
+
+        // Promoting ends one's turn; otherwise captures continue while possible.
+        IntVector empty = newWhite.or(newBlack).not();
+        VectorMask<Integer> none = SPECIES.maskAll(false);
+        IntVector jumps = jumps(to, newKings, whiteMask, to, none, empty, newOpponents, 0)
+                .or(jumps(to, newKings, whiteMask, to, none, empty, newOpponents, 1))
+                .or(jumps(to, newKings, whiteMask, to, none, empty, newOpponents, 2))
+                .or(jumps(to, newKings, whiteMask, to, none, empty, newOpponents, 3));
+        VectorMask<Integer> continues = active.and(capture).andNot(promoted)
+                .and(jumps.compare(VectorOperators.NE, 0));
+
+        white.blend(newWhite, active).intoArray(laneWhite, 0);
+        black.blend(newBlack, active).intoArray(laneBlack, 0);
+        kings.blend(newKings, active).intoArray(laneKings, 0);
+        IntVector.zero(SPECIES).blend(to, continues).intoArray(laneContinuing, 0);
+        VectorMask<Integer> turnEnds = active.andNot(continues);
+        side = side.blend(side.not(), turnEnds);
+        side.intoArray(laneSide, 0);
+        moves = moves.add(1, turnEnds);
+        moves.intoArray(laneMoves, 0);
+
+        // The last player to move wins.
+        VectorMask<Integer> exhausted = turnEnds.and(moves.compare(VectorOperators.GE, maxMoves));
+        if (!(exhausted.anyTrue())) { return false; }
+        IntVector.fromArray(SPECIES, laneWinner, 0).blend(side.not(), exhausted).intoArray(laneWinner, 0);
+        active.andNot(exhausted).intoArray(laneActive, 0);
+        VectorMask.fromArray(SPECIES, laneFinished, 0).or(exhausted).intoArray(laneFinished, 0);
+        return true;
+    }
+
+    /**
+     * Copies a game's starting position and seed into a lane.
+     */
+    private void loadGame(int lane, int game, int[] whitePieces, int[] blackPieces, int[] kings,
+                          boolean[] whiteToMove, int[] seeds) {
+        laneGame[lane] = game;
+        laneWhite[lane] = whitePieces[game];
+        laneBlack[lane] = blackPieces[game];
+        laneKings[lane] = kings[game];
+        laneSide[lane] = whiteToMove[game] ? -1 : 0;
+        laneRandom[lane] = seeds[game] == 0 ? 0x9E3779B9 : seeds[game];
+        laneMoves[lane] = 0;
+        laneContinuing[lane] = 0;
+    }
+
+    /**
+     * Finds the pieces that can jump in a direction.
+     */
+    private static IntVector jumps(IntVector own, IntVector kings, VectorMask<Integer> whiteMask,
+                                   IntVector continuing, VectorMask<Integer> isContinuing, IntVector empty,
+                                   IntVector opponents, int direction) {
+        IntVector movers = movers(own, kings, whiteMask, direction);
+        movers = movers.blend(movers.and(continuing), isContinuing);
+        return movers.and(ScalarBatchPlayout.JUMP_SOURCES[direction])
+                .and(shift(empty, -ScalarBatchPlayout.JUMP_SHIFTS[direction]))
+                .and(stepSources(opponents, direction));
+    }
+
+    /**
+     * Finds the pieces that can step in a direction.
+     */
+    private static IntVector steps(IntVector own, IntVector kings, VectorMask<Integer> whiteMask, IntVector empty,
+                                   int direction) {
+        return movers(own, kings, whiteMask, direction).and(stepSources(empty, direction));
+    }
+
+    private static IntVector movers(IntVector own, IntVector kings, VectorMask<Integer> whiteMask, int direction) {
+        IntVector kingsOnly = own.and(kings);
+        // White men move north and black men south.
+        return ScalarBatchPlayout.NORTH[direction] ? kingsOnly.blend(own, whiteMask) : own.blend(kingsOnly, whiteMask);
+    }
+
+    private static IntVector stepSources(IntVector targets, int direction) {
+        return shift(targets, -ScalarBatchPlayout.STEP_EVEN_SHIFTS[direction])
+                .and(ScalarBatchPlayout.STEP_EVEN_SOURCES[direction])
+                .or(shift(targets, -ScalarBatchPlayout.STEP_ODD_SHIFTS[direction])
+                        .and(ScalarBatchPlayout.STEP_ODD_SOURCES[direction]));
+    }
+
+    private static IntVector stepTargets(IntVector squares, int direction) {
+        return shift(squares.and(ScalarBatchPlayout.STEP_EVEN_SOURCES[direction]),
+                ScalarBatchPlayout.STEP_EVEN_SHIFTS[direction])
+                .or(shift(squares.and(ScalarBatchPlayout.STEP_ODD_SOURCES[direction]),
+                        ScalarBatchPlayout.STEP_ODD_SHIFTS[direction]));
+    }
+
+    private static IntVector shift(IntVector squares, int amount) {
+        return amount >= 0 ? squares.lanewise(VectorOperators.LSHL, amount)
+                : squares.lanewise(VectorOperators.LSHR, -amount);
+    }
+
+    /**
+     * Advances a xorshift random number generator in every lane.
+     */
+    private static IntVector nextRandom(IntVector random) {
+        random = random.lanewise(VectorOperators.XOR, random.lanewise(VectorOperators.LSHL, 13));
+        random = random.lanewise(VectorOperators.XOR, random.lanewise(VectorOperators.LSHR, 17));
+        return random.lanewise(VectorOperators.XOR, random.lanewise(VectorOperators.LSHL, 5));
+    }
+}
@@ -0,0 +1,68 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class AlphaBetaSolverTests {
+
+    @Test
+    public void testAlphaBetaSolver() {
+        AlphaBetaSolver solver = new AlphaBetaSolver(6, 12);
+
+        // Either capture leaves black's immobile man on 32 without moves.
+        int score = solver.search(new GameState("W:W14,15:B10,32"));
+        Assertions.assertTrue(AlphaBetaSolver.isProvenWin(score));
+        Assertions.assertEquals(1.0, AlphaBetaSolver.toWinProbability(score));
+
+        score = solver.search(new GameState("B:W14,15:B32"));
+        Assertions.assertTrue(AlphaBetaSolver.isProvenLoss(score));
+        Assertions.assertEquals(0.0, AlphaBetaSolver.toWinProbability(score));
+
+        // Quicker wins score higher.
+        Assertions.assertTrue(solver.search(new GameState("W:W14,15:B10,32"))
+                > solver.search(new GameState("W:W22,18:B10,32")));
+
+        // Two kings against one can't be solved in a few plies, but white is ahead.
+        score = solver.search(new GameState("W:WK1,K3:BK30"));
+        Assertions.assertFalse(AlphaBetaSolver.isProvenWin(score) || AlphaBetaSolver.isProvenLoss(score));
+        Assertions.assertTrue(AlphaBetaSolver.toWinProbability(score) > 0.5);
+        Assertions.assertTrue(solver.getNodes() > 0);
+    }
+
+    @Test
+    public void testLeafSolver() {
+        GameState gs = new GameState("W:W22,18:B10,32");
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        searcher.setLeafSolver(new AlphaBetaSolver(6, 12), 6);
+        searcher.search(60_000);
+        Assertions.assertTrue(searcher.isSolved());
+        Assertions.assertTrue(searcher.getIterations() < 100);
+    }
+
+    @Test
+    public void testAdvanceIntoLeafSolverProof() {
+        GameState gs = new GameState("B:WK9,K10,K15:B1");
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        searcher.setLeafSolver(new AlphaBetaSolver(6, 12), 32);
+        searcher.searchIterations(1000);
+        Assertions.assertTrue(searcher.isSolved());
+
+        // Find a child the leaf solver proved without it being expanded.
+        MCTSNode proven = null;
+        for (MCTSNode child : searcher.getRoot().getChildren()) {
+            if (child.isProven() && child.isLeaf()) {
+                proven = child;
+            }
+        }
+        Assertions.assertNotNull(proven);
+        searcher.advance(proven.getMove());
+        Assertions.assertFalse(searcher.isSolved());
+
+        searcher.searchIterations(1000);
+        Assertions.assertTrue(searcher.isSolved());
+        List<Move> bestMoves = searcher.getBestMoves();
+        Assertions.assertFalse(bestMoves.isEmpty());
+        Assertions.assertTrue(searcher.getRootState().generateLegalMoves().containsAll(bestMoves));
+    }
+
+}
@@ -0,0 +1,119 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+public class AnalysisCacheTests {
+
+    @Test
+    public void testGetAndPut() {
+        AnalysisCache cache = new AnalysisCache(10);
+        GameState gs = new GameState();
+        Assertions.assertNull(cache.get(gs));
+
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        for (int i = 0; i < 300; i++) {
+            searcher.searchOnce();
+        }
+        cache.put(gs, new CachedAnalysis(searcher.getRootStatistics(), 100, searcher.getIterations()));
+        CachedAnalysis cached = cache.get(gs);
+        Assertions.assertEquals(300, cached.getIterations());
+        Assertions.assertEquals(searcher.getBestMoves(), cached.getBestMoves());
+
+        // The mirror image shares the entry, with moves in its own orientation.
+        GameState mirror = CanonicalPosition.of(gs).toGameState();
+        CachedAnalysis mirrored = cache.get(mirror);
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertTrue(mirror.generateLegalMoves().containsAll(mirrored.getBestMoves()));
+        Assertions.assertEquals(2, cache.getHits());
+        Assertions.assertEquals(1, cache.getMisses());
+
+        // A smaller budget doesn't replace a larger one.
+        cache.put(gs, new CachedAnalysis(List.of(), 50, 10));
+        Assertions.assertEquals(300, cache.get(gs).getIterations());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        AnalysisCache cache = new AnalysisCache(2);
+        GameState first = new GameState("W:W21:B1");
+        GameState second = new GameState("W:W22:B1");
+        GameState third = new GameState("W:W23:B1");
+        cache.put(first, new CachedAnalysis(List.of(), 1, 1));
+        cache.put(second, new CachedAnalysis(List.of(), 1, 1));
+        Assertions.assertNotNull(cache.get(first));
+        cache.put(third, new CachedAnalysis(List.of(), 1, 1));
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNotNull(cache.get(first));
+        Assertions.assertNull(cache.get(second));
+        Assertions.assertNotNull(cache.get(third));
+    }
+
+    @Test
+    public void testResume() {
+        GameState gs = new GameState();
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        for (int i = 0; i < 300; i++) {
+            searcher.searchOnce();
+        }
+        CachedAnalysis analysis = new CachedAnalysis(searcher.getRootStatistics(), 100, 300);
+
+        MCTSDraughtsSearcher resumed = AnalysisCache.resume(gs, analysis, Math.sqrt(2.0));
+        Assertions.assertEquals(300, resumed.getRoot().getVisits());
+        Assertions.assertEquals(searcher.getBestMoves(), resumed.getBestMoves());
+        for (int i = 0; i < 100; i++) {
+            resumed.searchOnce();
+        }
+        Assertions.assertEquals(400, resumed.getRoot().getVisits());
+    }
+
+    @Test
+    public void testSaveAndLoad(@TempDir Path dir) throws IOException {
+        AnalysisCache cache = new AnalysisCache(10);
+        GameState gs = new GameState("B:W21,22,23:B9,10,K14");
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        for (int i = 0; i < 200; i++) {
+            searcher.searchOnce();
+        }
+        cache.put(gs, new CachedAnalysis(searcher.getRootStatistics(), 100, 200));
+
+        Path file = dir.resolve("cache.bin");
+        cache.save(file);
+        AnalysisCache loaded = AnalysisCache.load(file, 10);
+        CachedAnalysis expected = cache.get(gs);
+        CachedAnalysis actual = loaded.get(gs);
+        Assertions.assertEquals(expected.getSearchMillis(), actual.getSearchMillis());
+        Assertions.assertEquals(expected.getIterations(), actual.getIterations());
+        Assertions.assertEquals(expected.getRootStatistics().size(), actual.getRootStatistics().size());
+        for (MoveStatistics statistics : expected.getRootStatistics()) {
+            MoveStatistics loadedStatistics = actual.getStatistics(statistics.getMove());
+            Assertions.assertEquals(statistics.getVisits(), loadedStatistics.getVisits());
+            Assertions.assertEquals(statistics.getValue(), loadedStatistics.getValue());
+            Assertions.assertEquals(statistics.getProofStatus(), loadedStatistics.getProofStatus());
+        }
+    }
+
+    @Test
+    public void testSolvedAnalysis() {
+        // Only 26-22 is proven to win, and several moves tie with it on visits.
+        GameState gs = new GameState("B:WK18:B16,19,K26,K30");
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        searcher.search(60_000);
+        Assertions.assertTrue(searcher.isSolved());
+
+        AnalysisCache cache = new AnalysisCache(10);
+        cache.put(gs, new CachedAnalysis(searcher.getRootStatistics(), 100, searcher.getIterations()));
+        CachedAnalysis analysis = cache.get(gs);
+        Assertions.assertEquals(List.of(gs.parseMove("26-22")), analysis.getBestMoves());
+        // Proofs survive mapping moves to the color-swapped mirror image.
+        GameState mirrored = new GameState("W:WK3,K7,14,17:BK15");
+        Assertions.assertEquals(List.of(mirrored.parseMove("7-11")), cache.get(mirrored).getBestMoves());
+
+        MCTSDraughtsSearcher resumed = AnalysisCache.resume(gs, analysis, Math.sqrt(2.0));
+        Assertions.assertTrue(resumed.isSolved());
+        Assertions.assertEquals(searcher.getBestMoves(), resumed.getBestMoves());
+    }
+}
@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class AnalysisServerTests {
+
+    @Test
+    public void testAnalysisServer() throws Exception {
+        try (AnalysisServer server = new AnalysisServer(0, 1, 16, 1000, Math.sqrt(2.0))) {
+            server.start();
+
+            // Several sessions share a single CPU permit.
+            ExecutorService clients = Executors.newFixedThreadPool(4);
+            List<Future<List<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                responses.add(clients.submit(() -> request(server.getPort(),
+                        "ANALYZE 200 " + new GameState(),
+                        "ANALYZE 100 W:WK5:B9,10,11,17,18,19,25,26,27,28",
+                        "ANALYZE 100 C:W:B",
+                        "HELLO")));
+            }
+            for (Future<List<String>> future : responses) {
+                List<String> lines = future.get();
+                Assertions.assertEquals(4, lines.size());
+                Assertions.assertTrue(lines.get(0).startsWith("BESTMOVE "), lines.get(0));
+                Assertions.assertTrue(lines.get(1).startsWith("BESTMOVE 5x14x"), lines.get(1));
+                Assertions.assertEquals("ERROR Invalid FEN", lines.get(2));
+                Assertions.assertTrue(lines.get(3).startsWith("ERROR "));
+            }
+            clients.shutdown();
+        }
+    }
+
+    @Test
+    public void testCachedRequests() throws Exception {
+        try (AnalysisServer server = new AnalysisServer(0, 1, 16, 1000, Math.sqrt(2.0))) {
+            server.setCache(new AnalysisCache(10));
+            server.start();
+
+            String fen = new GameState().toString();
+            List<String> lines = request(server.getPort(), "ANALYZE 100 " + fen, "ANALYZE 50 " + fen,
+                    "ANALYZE 200 " + fen);
+            Assertions.assertEquals(3, lines.size());
+            // The smaller budget is served from the cache unchanged.
+            Assertions.assertEquals(lines.get(0), lines.get(1));
+            // The larger budget continues from the cached iterations.
+            long first = Long.parseLong(lines.get(0).substring(lines.get(0).lastIndexOf(' ') + 1));
+            long third = Long.parseLong(lines.get(2).substring(lines.get(2).lastIndexOf(' ') + 1));
+            Assertions.assertTrue(third > first, lines.get(2));
+            Assertions.assertEquals(1, server.getCache().size());
+            Assertions.assertEquals(200, server.getCache().get(new GameState()).getSearchMillis());
+        }
+    }
+
+    @Test
+    public void testSolvedPosition() throws Exception {
+        try (AnalysisServer server = new AnalysisServer(0, 1, 16, 60_000, Math.sqrt(2.0))) {
+            server.setCache(new AnalysisCache(10));
+            server.start();
+
+            // Only 26-22 is proven to win, though other moves get as many visits.
+            String fen = "B:WK18:B16,19,K26,K30";
+            long start = System.nanoTime();
+            List<String> lines = request(server.getPort(), "ANALYZE 30000 " + fen, "ANALYZE 60000 " + fen);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            Assertions.assertTrue(lines.get(0).startsWith("BESTMOVE 26-22 "), lines.get(0));
+            // A larger budget resumes from the cached proof.
+            Assertions.assertTrue(lines.get(1).startsWith("BESTMOVE 26-22 "), lines.get(1));
+            // Solved searches return without spending their budget.
+            Assertions.assertTrue(elapsedMillis < 10_000, elapsedMillis + "ms");
+        }
+    }
+
+    private static List<String> request(int port, String... requests) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                     StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            for (String request : requests) {
+                out.write(request + "\n");
+                out.flush();
+                lines.add(in.readLine());
+            }
+            out.write("QUIT\n");
+            out.flush();
+        }
+        return lines;
+    }
+
+}
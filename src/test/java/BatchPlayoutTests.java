@@ -0,0 +1,135 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+public class BatchPlayoutTests {
+
+    @Test
+    public void testImplementationsAgree() {
+        Positions expected = new Positions(203, new Random(3));
+        Positions actual = new Positions(203, new Random(3));
+        expected.playout(new ScalarBatchPlayout());
+        actual.playout(BatchPlayout.create());
+        Assertions.assertArrayEquals(expected.whiteWins, actual.whiteWins);
+        Assertions.assertArrayEquals(expected.white, actual.white);
+        Assertions.assertArrayEquals(expected.black, actual.black);
+        Assertions.assertArrayEquals(expected.kings, actual.kings);
+    }
+
+    @Test
+    public void testScalarMovesAreLegal() {
+        assertMovesAreLegal(ScalarBatchPlayout::new);
+    }
+
+    @Test
+    public void testVectorMovesAreLegal() {
+        assertMovesAreLegal(VectorBatchPlayout::new);
+    }
+
+    /**
+     * Replays games one turn further at a time, checking that every turn
+     * is a legal move per GameState, including mandatory captures, whole
+     * multi-captures, and promotion ending the turn.
+     */
+    private static void assertMovesAreLegal(IntFunction<BatchPlayout> withMaxMoves) {
+        final int count = 40;
+        Positions previous = new Positions(count, new Random(5));
+        boolean[] ended = new boolean[count];
+        for (int turns = 1; turns <= 150; turns++) {
+            Positions current = new Positions(count, new Random(5));
+            current.playout(withMaxMoves.apply(turns));
+            for (int i = 0; i < count; i++) {
+                if (ended[i]) { continue; }
+                GameState before = previous.toGameState(i);
+                GameState after = current.toGameState(i);
+                List<Move> legalMoves = before.generateLegalMoves();
+                if (after.equals(before)) {
+                    // The game ended because the player to move had no moves.
+                    Assertions.assertTrue(legalMoves.isEmpty(), before.toString());
+                    ended[i] = true;
+                    continue;
+                }
+                boolean legal = false;
+                for (Move move : legalMoves) {
+                    GameState child = new GameState(before);
+                    child.makeMove(move);
+                    child.swapActivePlayer();
+                    legal |= child.equals(after);
+                }
+                Assertions.assertTrue(legal, before + " -> " + after);
+            }
+            previous = current;
+        }
+    }
+
+    @Test
+    public void testDecidedPosition() {
+        // White must capture black's last piece.
+        GameState gs = new GameState("W:W22:B18");
+        final int count = 20;
+        int[] white = new int[count];
+        int[] black = new int[count];
+        int[] kings = new int[count];
+        boolean[] whiteToMove = new boolean[count];
+        int[] seeds = new int[count];
+        for (int i = 0; i < count; i++) {
+            white[i] = gs.getWhitePieces();
+            black[i] = gs.getBlackPieces();
+            whiteToMove[i] = true;
+            seeds[i] = i;
+        }
+        boolean[] whiteWins = new boolean[count];
+        BatchPlayout.create().playout(white, black, kings, whiteToMove, seeds, count, whiteWins);
+        for (boolean whiteWon : whiteWins) {
+            Assertions.assertTrue(whiteWon);
+        }
+    }
+
+    /**
+     * Positions from random games, so kings and captures are covered.
+     */
+    private static class Positions {
+
+        final int[] white;
+        final int[] black;
+        final int[] kings;
+        final boolean[] whiteToMove;
+        final int[] seeds;
+        final boolean[] whiteWins;
+
+        Positions(int count, Random rand) {
+            white = new int[count];
+            black = new int[count];
+            kings = new int[count];
+            whiteToMove = new boolean[count];
+            seeds = new int[count];
+            whiteWins = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                GameState gs = new GameState();
+                int plies = rand.nextInt(80);
+                for (int ply = 0; ply < plies; ply++) {
+                    List<Move> moves = gs.generateLegalMoves();
+                    if (moves.isEmpty()) { break; }
+                    gs.makeMove(moves.get(rand.nextInt(moves.size())));
+                    gs.swapActivePlayer();
+                }
+                white[i] = gs.getWhitePieces();
+                black[i] = gs.getBlackPieces();
+                kings[i] = gs.getKings();
+                whiteToMove[i] = gs.getActivePlayer().equals("W");
+                seeds[i] = rand.nextInt();
+            }
+        }
+
+        void playout(BatchPlayout batchPlayout) {
+            batchPlayout.playout(white, black, kings, whiteToMove, seeds, white.length, whiteWins);
+        }
+
+        GameState toGameState(int i) {
+            return new GameState(white[i], black[i], kings[i], whiteToMove[i] ? "W" : "B");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class BitboardPositionTests {
+
+    @Test
+    public void testMatchesGameState() {
+        Random rand = new Random(7);
+        long[] buffer = new long[BitboardPosition.MAX_MOVES];
+        for (int game = 0; game < 50; game++) {
+            GameState gs = new GameState();
+            BitboardPosition position = new BitboardPosition(gs);
+            for (int ply = 0; ply < 300; ply++) {
+                List<Long> expected = new ArrayList<>();
+                for (Move move : gs.generateLegalMoves()) {
+                    expected.add(PositionCodec.encodeMove(move));
+                }
+                int count = position.generateLegalMoves(buffer);
+                List<Long> actual = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    actual.add(buffer[i]);
+                }
+                Assertions.assertEquals(expected, actual, gs.toString());
+                if (count == 0) { break; }
+
+                long move = buffer[rand.nextInt(count)];
+                gs.makeMove(PositionCodec.decodeMove(move));
+                gs.swapActivePlayer();
+                position.makeMove(move);
+                position.swapActivePlayer();
+                Assertions.assertEquals(gs, position.toGameState());
+            }
+        }
+    }
+
+    @Test
+    public void testKingMultiCapture() {
+        GameState gs = new GameState("W:WK1:B6,7,14,15,22,23");
+        BitboardPosition position = new BitboardPosition(gs);
+        long[] buffer = new long[BitboardPosition.MAX_MOVES];
+        int count = position.generateLegalMoves(buffer);
+        Assertions.assertEquals(gs.generateLegalMoves().size(), count);
+        for (int i = 0; i < count; i++) {
+            GameState expected = new GameState(gs);
+            expected.makeMove(PositionCodec.decodeMove(buffer[i]));
+            BitboardPosition copy = new BitboardPosition();
+            copy.set(position);
+            copy.makeMove(buffer[i]);
+            Assertions.assertEquals(expected, copy.toGameState());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class CanonicalPositionTests {
+
+    @ParameterizedTest
+    @ValueSource(strings={
+            "B:WK10,K15,18,24,27,28:B12,16,20,K22,K25,K29",
+            "B:W18,19,21,23,24,26,29,30,31,32:B1,2,3,4,6,7,9,10,11,12",
+            "W:W5,6,7,11,18,19,27:B2,3,4,9,10,17,20,25,26,28",
+            "B:W21,22,23,24,25,26,27,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,11,12",
+            "B:WK5:B9,10,11,17,18,19,25,26,27,28"
+    })
+    public void testMoveMapping(String FEN) {
+        GameState original = new GameState(FEN);
+        CanonicalPosition canonical = CanonicalPosition.of(original);
+        Assertions.assertEquals(original.getActivePlayer().equals("B"), canonical.isFlipped());
+        GameState canonicalState = canonical.toGameState();
+        Assertions.assertEquals("W", canonicalState.getActivePlayer());
+
+        // Legal moves in the canonical position map exactly onto legal moves in the original.
+        List<Move> originalMoves = original.generateLegalMoves();
+        List<Move> canonicalMoves = canonicalState.generateLegalMoves();
+        Assertions.assertEquals(originalMoves.size(), canonicalMoves.size());
+        for (Move move : canonicalMoves) {
+            Move mapped = canonical.toOriginal(move);
+            Assertions.assertTrue(originalMoves.contains(mapped));
+            Assertions.assertEquals(move, canonical.toCanonical(mapped));
+
+            // Making corresponding moves leads to equivalent positions.
+            GameState originalAfter = new GameState(original);
+            originalAfter.makeMove(mapped);
+            originalAfter.swapActivePlayer();
+            GameState canonicalAfter = new GameState(canonicalState);
+            canonicalAfter.makeMove(move);
+            canonicalAfter.swapActivePlayer();
+            Assertions.assertEquals(CanonicalPosition.of(originalAfter), CanonicalPosition.of(canonicalAfter));
+        }
+    }
+
+    @Test
+    public void testEquivalentPositionsShareKeys() {
+        // The starting position with either side to move are mirror images.
+        GameState blackToMove = new GameState();
+        GameState whiteToMove = new GameState(blackToMove);
+        whiteToMove.swapActivePlayer();
+        Assertions.assertEquals(CanonicalPosition.of(blackToMove), CanonicalPosition.of(whiteToMove));
+        Assertions.assertEquals(CanonicalPosition.of(blackToMove).hashCode(),
+                CanonicalPosition.of(whiteToMove).hashCode());
+
+        GameState a = new GameState("B:WK10,18:B12,K22");
+        GameState b = new GameState("W:WK11,21:B15,K23");
+        Assertions.assertEquals(CanonicalPosition.of(a), CanonicalPosition.of(b));
+        Assertions.assertNotEquals(CanonicalPosition.of(a), CanonicalPosition.of(new GameState("W:WK10,18:B12,K22")));
+
+        Set<CanonicalPosition> keys = new HashSet<>();
+        keys.add(CanonicalPosition.of(a));
+        keys.add(CanonicalPosition.of(b));
+        Assertions.assertEquals(1, keys.size());
+    }
+
+}
@@ -0,0 +1,127 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DistributedSearchTests {
+
+    @Test
+    public void testMergesWorkerStatistics() throws IOException, InterruptedException {
+        GameState gs = new GameState();
+        try (DistributedSearchCoordinator coordinator = new DistributedSearchCoordinator(gs, 300, 50,
+                Math.sqrt(2.0), 0, InetAddress.getLoopbackAddress())) {
+            coordinator.start();
+
+            List<Thread> workers = new ArrayList<>();
+            long[] workerIterations = new long[2];
+            for (int i = 0; i < workerIterations.length; i++) {
+                int worker = i;
+                Thread thread = new Thread(() -> {
+                    try {
+                        workerIterations[worker] = DistributedSearchWorker.run("localhost", coordinator.getPort());
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                thread.start();
+                workers.add(thread);
+            }
+            Assertions.assertTrue(coordinator.awaitWorkers(2, 10_000));
+            for (Thread thread : workers) {
+                thread.join();
+            }
+
+            Assertions.assertEquals(2, coordinator.getConnectedWorkers());
+            Assertions.assertEquals(workerIterations[0] + workerIterations[1], coordinator.getIterations());
+            List<MoveStatistics> merged = coordinator.getMergedStatistics();
+            Assertions.assertEquals(gs.generateLegalMoves().size(), merged.size());
+            long visits = 0;
+            for (MoveStatistics statistics : merged) {
+                visits += statistics.getVisits();
+            }
+            Assertions.assertEquals(coordinator.getIterations(), visits);
+            Assertions.assertTrue(gs.generateLegalMoves().containsAll(coordinator.getBestMoves()));
+            Assertions.assertFalse(coordinator.getBestMoves().isEmpty());
+        }
+    }
+
+    @Test
+    public void testLostWorker() throws IOException, InterruptedException {
+        GameState gs = new GameState();
+        try (DistributedSearchCoordinator coordinator = new DistributedSearchCoordinator(gs, 60_000, 1000,
+                Math.sqrt(2.0), 0, InetAddress.getLoopbackAddress())) {
+            coordinator.start();
+            // Report once, then disconnect without sending DONE.
+            try (Socket socket = new Socket("localhost", coordinator.getPort());
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                         StandardCharsets.UTF_8));
+                 Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+                Assertions.assertTrue(in.readLine().startsWith("SEARCH "));
+                out.write("STATS 10 11-15:10:6.0\n");
+                out.flush();
+            }
+
+            Assertions.assertTrue(coordinator.awaitWorkers(1, 10_000));
+            Assertions.assertEquals(1, coordinator.getLostWorkers());
+            Assertions.assertEquals(10, coordinator.getIterations());
+            Assertions.assertEquals(gs.parseMove("11-15"), coordinator.getBestMoves().get(0));
+        }
+    }
+
+    @Test
+    public void testProvenMovesOutrankVisits() throws IOException, InterruptedException {
+        GameState gs = new GameState();
+        try (DistributedSearchCoordinator coordinator = new DistributedSearchCoordinator(gs, 60_000, 1000,
+                Math.sqrt(2.0), 0, InetAddress.getLoopbackAddress())) {
+            coordinator.start();
+            // One worker solved the position early; the other kept searching.
+            report(coordinator, "STATS 5 9-13:1:1.0:W 11-15:4:2.0:L");
+            report(coordinator, "STATS 100 11-15:90:50.0 10-14:10:3.0");
+
+            Assertions.assertTrue(coordinator.awaitWorkers(2, 10_000));
+            Assertions.assertEquals(0, coordinator.getLostWorkers());
+            Assertions.assertEquals(List.of(gs.parseMove("9-13")), coordinator.getBestMoves());
+            for (MoveStatistics statistics : coordinator.getMergedStatistics()) {
+                if (statistics.getMove().equals(gs.parseMove("11-15"))) {
+                    Assertions.assertEquals(94, statistics.getVisits());
+                    Assertions.assertEquals(ProofStatus.LOSS, statistics.getProofStatus());
+                }
+            }
+        }
+    }
+
+    /**
+     * Acts as a worker that sends one report and finishes.
+     */
+    private static void report(DistributedSearchCoordinator coordinator, String report) throws IOException {
+        try (Socket socket = new Socket("localhost", coordinator.getPort());
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                     StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            Assertions.assertTrue(in.readLine().startsWith("SEARCH "));
+            out.write(report + "\nDONE\n");
+            out.flush();
+            // Wait for the coordinator to hang up, so the report has been recorded.
+            Assertions.assertNull(in.readLine());
+        }
+    }
+
+    @Test
+    public void testFormatStatistics() {
+        GameState gs = new GameState();
+        List<MoveStatistics> statistics = new ArrayList<>();
+        statistics.add(new MoveStatistics(gs.parseMove("11-15"), 600, 310.0));
+        statistics.add(new MoveStatistics(gs.parseMove("9-13"), 400, 190.5));
+        statistics.add(new MoveStatistics(gs.parseMove("10-14"), 3, 3.0, ProofStatus.WIN));
+        statistics.add(new MoveStatistics(gs.parseMove("12-16"), 2, 0.0, ProofStatus.LOSS));
+        SearchProgress progress = new SearchProgress(1000, 10, new ArrayList<>(), new ArrayList<>(),
+                statistics, false);
+        Assertions.assertEquals("STATS 1000 11-15:600:310.0 9-13:400:190.5 10-14:3:3.0:W 12-16:2:0.0:L",
+                DistributedSearchWorker.formatStatistics(progress));
+    }
+}
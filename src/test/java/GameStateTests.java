@@ -32,11 +32,58 @@ public class GameStateTests {
         Assertions.assertThrows(IllegalArgumentException.class, ()->new GameState("B:W0:B"));
         Assertions.assertThrows(IllegalArgumentException.class, ()->new GameState("B:W-:B"));
         Assertions.assertThrows(IllegalArgumentException.class, ()->new GameState("B:WK-:B"));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new GameState("B:W1"));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new GameState("B:W1x:B"));
+        Assertions.assertEquals("W:WK1,5:B18", (new GameState("w:wk1,5:b18")).toString());
+        Assertions.assertEquals("W:WK1,5:B18", (new GameState("W:B18:WK1,5")).toString());
+    }
+
+    @Test
+    public void testGenerateDistinctLegalMoves() {
+        // The king can capture the same pieces clockwise or counterclockwise.
+        GameState gs = new GameState("W:WK10:B14,15,22,23");
+        Assertions.assertEquals(2, gs.generateLegalMoves().size());
+        Assertions.assertEquals(1, gs.generateDistinctLegalMoves().size());
+
+        gs = new GameState("W:WK5:B9,10,11,17,18,19,25,26,27,28");
+        List<Move> distinct = gs.generateDistinctLegalMoves();
+        Set<String> resultingStates = new HashSet<>();
+        for (Move move : gs.generateLegalMoves()) {
+            GameState copy = new GameState(gs);
+            copy.makeMove(move);
+            resultingStates.add(copy.toString());
+        }
+        Assertions.assertEquals(resultingStates.size(), distinct.size());
+        Assertions.assertTrue(gs.generateLegalMoves().containsAll(distinct));
+
+        // The first capture generated is a single jump, but the king's two
+        // paths from 10 still take the same pieces.
+        gs = new GameState("W:W9,K10:B6,14,15,22,23");
+        Assertions.assertEquals(4, gs.generateLegalMoves().size());
+        Assertions.assertEquals(3, gs.generateDistinctLegalMoves().size());
+
+        gs = new GameState();
+        Assertions.assertEquals(gs.generateLegalMoves(), gs.generateDistinctLegalMoves());
     }
 
     @Test
     public void testAddOffsetToSquare() {
+        // Square 18 (index 17) is in the middle of the board.
+        Assertions.assertEquals(14, GameState.addOffsetToSquare(Offset.MOVE_NORTHEAST, 17));
+        Assertions.assertEquals(13, GameState.addOffsetToSquare(Offset.MOVE_NORTHWEST, 17));
+        Assertions.assertEquals(22, GameState.addOffsetToSquare(Offset.MOVE_SOUTHEAST, 17));
+        Assertions.assertEquals(21, GameState.addOffsetToSquare(Offset.MOVE_SOUTHWEST, 17));
+        Assertions.assertEquals(10, GameState.addOffsetToSquare(Offset.JUMP_NORTHEAST, 17));
+        Assertions.assertEquals(8, GameState.addOffsetToSquare(Offset.JUMP_NORTHWEST, 17));
+        Assertions.assertEquals(26, GameState.addOffsetToSquare(Offset.JUMP_SOUTHEAST, 17));
+        Assertions.assertEquals(24, GameState.addOffsetToSquare(Offset.JUMP_SOUTHWEST, 17));
 
+        // Moves off the board, including wrapping around its edges.
+        Assertions.assertEquals(-1, GameState.addOffsetToSquare(Offset.MOVE_NORTHEAST, 0));
+        Assertions.assertEquals(-1, GameState.addOffsetToSquare(Offset.MOVE_SOUTHEAST, 31));
+        Assertions.assertEquals(-1, GameState.addOffsetToSquare(Offset.MOVE_NORTHWEST, 12));
+        Assertions.assertEquals(-1, GameState.addOffsetToSquare(Offset.JUMP_SOUTHEAST, 11));
+        Assertions.assertEquals(-1, GameState.addOffsetToSquare(Offset.MOVE_NORTHEAST, 32));
     }
 
     @Test
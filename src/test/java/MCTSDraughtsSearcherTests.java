@@ -0,0 +1,216 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class MCTSDraughtsSearcherTests {
+
+    @Test
+    public void testProgressListener() {
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(new GameState(), Math.sqrt(2.0));
+        List<SearchProgress> snapshots = new ArrayList<>();
+        searcher.setProgressIntervalMillis(0);
+        searcher.addProgressListener(progress -> {
+            snapshots.add(progress);
+            if (progress.getIterations() >= 50) {
+                searcher.stop();
+            }
+        });
+        searcher.search(60_000);
+
+        Assertions.assertEquals(50, searcher.getIterations());
+        // One snapshot per iteration plus the final snapshot.
+        Assertions.assertEquals(51, snapshots.size());
+
+        SearchProgress last = snapshots.get(snapshots.size() - 1);
+        Assertions.assertEquals(50, last.getIterations());
+        Assertions.assertEquals(searcher.getBestMoves(), last.getBestMoves());
+        Assertions.assertEquals(7, last.getRootStatistics().size());
+        int rootVisits = 0;
+        for (MoveStatistics statistics : last.getRootStatistics()) {
+            rootVisits += statistics.getVisits();
+        }
+        Assertions.assertEquals(50, rootVisits);
+        Assertions.assertFalse(last.getPrincipalVariation().isEmpty());
+        Assertions.assertTrue(last.getBestMoves().contains(last.getPrincipalVariation().get(0)));
+    }
+
+    @Test
+    public void testProgressPerSearch() throws InterruptedException {
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(new GameState(), Math.sqrt(2.0));
+        List<SearchProgress> snapshots = new ArrayList<>();
+        searcher.addProgressListener(snapshots::add);
+        searcher.searchIterations(20);
+        Thread.sleep(200);
+        searcher.searchIterations(30);
+
+        Assertions.assertEquals(2, snapshots.size());
+        // Each snapshot covers its own search, not the idle time between searches.
+        SearchProgress second = snapshots.get(1);
+        Assertions.assertEquals(30, second.getIterations());
+        Assertions.assertTrue(second.getElapsedMillis() < 200, second.getElapsedMillis() + "ms");
+        Assertions.assertEquals(50, searcher.getIterations());
+    }
+
+    @Test
+    public void testGetBestMoves() {
+        GameState gs = new GameState();
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        for (int i = 0; i < 100; i++) {
+            searcher.searchOnce();
+        }
+        List<Move> legalMoves = gs.generateLegalMoves();
+        for (Move move : searcher.getBestMoves()) {
+            Assertions.assertTrue(legalMoves.contains(move));
+        }
+    }
+
+    @Test
+    public void testCollapseEquivalentCaptures() {
+        GameState gs = new GameState("W:WK10:B14,15,22,23");
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        searcher.searchOnce();
+        Assertions.assertEquals(2, searcher.getRootStatistics().size());
+
+        searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        searcher.setCollapseEquivalentCaptures(true);
+        searcher.searchOnce();
+        Assertions.assertEquals(1, searcher.getRootStatistics().size());
+    }
+
+    @Test
+    public void testSolver() {
+        // Either capture of 10 wins, since black's man on 32 can't move.
+        GameState gs = new GameState("W:W14,15:B10,32");
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        searcher.search(60_000);
+        Assertions.assertTrue(searcher.isSolved());
+        Assertions.assertTrue(searcher.getIterations() <= 3);
+        Assertions.assertEquals(1, searcher.getBestMoves().size());
+        Move best = searcher.getBestMoves().get(0);
+        GameState after = new GameState(gs);
+        after.makeMove(best);
+        after.swapActivePlayer();
+        Assertions.assertTrue(after.generateLegalMoves().isEmpty());
+
+        long iterations = searcher.getIterations();
+        searcher.searchOnce();
+        Assertions.assertEquals(iterations, searcher.getIterations());
+
+        searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        searcher.setSolverEnabled(false);
+        for (int i = 0; i < 10; i++) {
+            searcher.searchOnce();
+        }
+        Assertions.assertFalse(searcher.isSolved());
+        Assertions.assertEquals(10, searcher.getIterations());
+    }
+
+    @Test
+    public void testRave() {
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(new GameState(), Math.sqrt(2.0));
+        searcher.setRaveEnabled(true);
+        for (int i = 0; i < 200; i++) {
+            searcher.searchOnce();
+        }
+        int visits = 0;
+        int amafVisits = 0;
+        for (MCTSNode child : searcher.getRoot().getChildren()) {
+            visits += child.getVisits();
+            amafVisits += child.getAmafVisits();
+            Assertions.assertTrue(child.getAmafValue() <= child.getAmafVisits());
+        }
+        Assertions.assertEquals(200, visits);
+        // Each root move is credited at least when it was the move actually played.
+        Assertions.assertTrue(amafVisits >= visits);
+        Assertions.assertFalse(searcher.getBestMoves().isEmpty());
+    }
+
+    @Test
+    public void testStaticEvaluatorPriors() {
+        StaticEvaluator evaluator = new StaticEvaluator();
+        // The starting position is symmetric.
+        Assertions.assertEquals(0.5, evaluator.evaluate(new GameState()), 1e-9);
+        // A man up is good for white and bad for black.
+        Assertions.assertTrue(evaluator.evaluate(new GameState("W:W21,22:B1")) > 0.5);
+        Assertions.assertTrue(evaluator.evaluate(new GameState("B:W21,22:B1")) < 0.5);
+
+        // Steps counted from the bitmasks match move generation whenever the mover has no capture.
+        Random random = new Random(1);
+        for (int game = 0; game < 20; game++) {
+            GameState gs = new GameState();
+            for (int ply = 0; ply < 200; ply++) {
+                List<Move> moves = gs.generateLegalMoves();
+                if (moves.isEmpty()) { break; }
+                boolean white = gs.getActivePlayer().equals("W");
+                int own = white ? gs.getWhitePieces() : gs.getBlackPieces();
+                int empty = ~(gs.getWhitePieces() | gs.getBlackPieces());
+                if (moves.get(0).getOffsets().get(0).ordinal() < 4) {
+                    Assertions.assertEquals(moves.size(), StaticEvaluator.countSteps(own, gs.getKings(), white, empty));
+                }
+                gs.makeMove(moves.get(random.nextInt(moves.size())));
+                gs.swapActivePlayer();
+            }
+        }
+
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(new GameState(), Math.sqrt(2.0));
+        searcher.setStaticEvaluator(evaluator, 10, 1.0);
+        for (int i = 0; i < 3; i++) {
+            searcher.searchOnce();
+        }
+        int visits = 0;
+        for (MCTSNode child : searcher.getRoot().getChildren()) {
+            Assertions.assertEquals(10, child.getPriorVisits());
+            visits += child.getVisits();
+            Assertions.assertEquals(child.getHeuristicValue(),
+                    1.0 - evaluator.evaluate(child.getData()), 1e-9);
+            // Seeded children have finite values, so none is forced to be tried first.
+            Assertions.assertTrue(Double.isFinite(child.getUCTValue(searcher.getExplorationParameter())));
+        }
+        // Prior visits aren't reported as real ones.
+        Assertions.assertEquals(searcher.getRoot().getVisits(), visits);
+        Assertions.assertFalse(searcher.getBestMoves().isEmpty());
+    }
+
+    @Test
+    public void testBatchPlayout() {
+        GameState gs = new GameState();
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        searcher.setBatchPlayout(BatchPlayout.create(), 16);
+        for (int i = 0; i < 200; i++) {
+            searcher.searchOnce();
+        }
+        Assertions.assertEquals(200, searcher.getRoot().getVisits());
+        Assertions.assertTrue(gs.generateLegalMoves().containsAll(searcher.getBestMoves()));
+        double outcome = searcher.simulateBatch(searcher.getRoot());
+        Assertions.assertTrue(outcome >= 0 && outcome <= 1);
+    }
+
+    @Test
+    public void testSeededSearchRepeats() {
+        GameState gs = new GameState();
+        MCTSDraughtsSearcher first = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        MCTSDraughtsSearcher second = new MCTSDraughtsSearcher(gs, Math.sqrt(2.0));
+        first.setSeed(42);
+        second.setSeed(42);
+        first.searchIterations(2000);
+        second.searchIterations(2000);
+        Assertions.assertEquals(2000, first.getIterations());
+
+        List<MoveStatistics> expected = first.getRootStatistics();
+        List<MoveStatistics> actual = second.getRootStatistics();
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i).getMove(), actual.get(i).getMove());
+            Assertions.assertEquals(expected.get(i).getVisits(), actual.get(i).getVisits());
+            Assertions.assertEquals(expected.get(i).getValue(), actual.get(i).getValue());
+        }
+        Assertions.assertEquals(first.getPrincipalVariation(), second.getPrincipalVariation());
+
+        // Derived seeds differ between streams but not between runs.
+        Assertions.assertEquals(MCTSDraughtsSearcher.deriveSeed(42, 1), MCTSDraughtsSearcher.deriveSeed(42, 1));
+        Assertions.assertNotEquals(MCTSDraughtsSearcher.deriveSeed(42, 1), MCTSDraughtsSearcher.deriveSeed(42, 2));
+    }
+}
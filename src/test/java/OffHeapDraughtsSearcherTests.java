@@ -0,0 +1,150 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+
+public class OffHeapDraughtsSearcherTests {
+
+    @Test
+    public void testSearch() throws IOException {
+        try (OffHeapNodeStore store = new OffHeapNodeStore(1 << 20)) {
+            GameState gs = new GameState();
+            OffHeapDraughtsSearcher searcher = new OffHeapDraughtsSearcher(gs, Math.sqrt(2.0), store);
+            for (int i = 0; i < 1000; i++) {
+                searcher.searchOnce();
+            }
+            Assertions.assertEquals(1000, searcher.getRootVisits());
+            Assertions.assertTrue(searcher.getNodeCount() > 1000);
+
+            int childVisits = 0;
+            for (MoveStatistics statistics : searcher.getRootStatistics()) {
+                childVisits += statistics.getVisits();
+            }
+            Assertions.assertEquals(1000, childVisits);
+            Assertions.assertTrue(gs.generateLegalMoves().containsAll(searcher.getBestMoves()));
+        }
+    }
+
+    @Test
+    public void testPlayoutPolicy() throws IOException {
+        try (OffHeapNodeStore first = new OffHeapNodeStore(1 << 16);
+             OffHeapNodeStore second = new OffHeapNodeStore(1 << 16)) {
+            OffHeapDraughtsSearcher builtIn = new OffHeapDraughtsSearcher(new GameState(), Math.sqrt(2.0), first);
+            OffHeapDraughtsSearcher withPolicy = new OffHeapDraughtsSearcher(new GameState(), Math.sqrt(2.0), second);
+            Assertions.assertNull(builtIn.getPlayoutPolicy());
+            int[] calls = new int[1];
+            withPolicy.setPlayoutPolicy((gameState, legalMoves, random) -> {
+                calls[0]++;
+                return new UniformRandomPolicy().chooseMove(gameState, legalMoves, random);
+            });
+            builtIn.setSeed(7);
+            withPolicy.setSeed(7);
+            for (int i = 0; i < 300; i++) {
+                builtIn.searchOnce();
+                withPolicy.searchOnce();
+            }
+            Assertions.assertTrue(calls[0] > 0);
+            // Both paths generate moves in the same order, so uniform playouts match.
+            List<MoveStatistics> expected = builtIn.getRootStatistics();
+            List<MoveStatistics> actual = withPolicy.getRootStatistics();
+            Assertions.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assertions.assertEquals(expected.get(i).getMove(), actual.get(i).getMove());
+                Assertions.assertEquals(expected.get(i).getVisits(), actual.get(i).getVisits());
+                Assertions.assertEquals(expected.get(i).getValue(), actual.get(i).getValue());
+            }
+        }
+    }
+
+    @Test
+    public void testFullStore() throws IOException {
+        try (OffHeapNodeStore store = new OffHeapNodeStore(20)) {
+            OffHeapDraughtsSearcher searcher = new OffHeapDraughtsSearcher(new GameState(), Math.sqrt(2.0), store);
+            for (int i = 0; i < 200; i++) {
+                searcher.searchOnce();
+            }
+            Assertions.assertEquals(200, searcher.getRootVisits());
+            Assertions.assertTrue(searcher.getNodeCount() <= 20);
+            Assertions.assertFalse(searcher.getBestMoves().isEmpty());
+        }
+    }
+
+    @Test
+    public void testMappedStore(@TempDir Path dir) throws IOException {
+        try (OffHeapNodeStore store = OffHeapNodeStore.mapped(dir.resolve("tree.nodes"), 1 << 18)) {
+            // A forced capture: the searcher must find the only legal move.
+            GameState gs = new GameState("W:W22:B18");
+            OffHeapDraughtsSearcher searcher = new OffHeapDraughtsSearcher(gs, Math.sqrt(2.0), store);
+            searcher.search(50);
+            Assertions.assertTrue(searcher.getIterations() > 0);
+            Assertions.assertEquals(1, searcher.getBestMoves().size());
+            Assertions.assertEquals("22x15", searcher.getBestMoves().get(0).toNotation());
+        }
+    }
+
+    @Test
+    public void testStoreRecords() throws IOException {
+        try (OffHeapNodeStore store = new OffHeapNodeStore(100_000)) {
+            // Spans more than one chunk.
+            int first = store.allocate(70_000);
+            Assertions.assertEquals(0, first);
+            store.setValue(69_999, 2.5);
+            store.setVisits(69_999, 7);
+            store.setMove(69_999, -1L);
+            store.setParent(69_999, 3);
+            store.setChildren(69_999, 70_000, 4);
+            Assertions.assertEquals(2.5, store.getValue(69_999));
+            Assertions.assertEquals(7, store.getVisits(69_999));
+            Assertions.assertEquals(-1L, store.getMove(69_999));
+            Assertions.assertEquals(3, store.getParent(69_999));
+            Assertions.assertEquals(70_000, store.getFirstChild(69_999));
+            Assertions.assertEquals(4, store.getChildCount(69_999));
+            // Records are packed without padding, and neighbours don't overlap.
+            Assertions.assertEquals(32, OffHeapNodeStore.RECORD_BYTES);
+            store.setValue(69_998, -1.0);
+            store.setVisits(69_998, -1);
+            store.setMove(69_998, 0L);
+            store.setParent(69_998, -2);
+            store.setChildren(69_998, -3, -4);
+            store.setValue(70_000, -1.0);
+            store.setMove(70_000, 0L);
+            Assertions.assertEquals(2.5, store.getValue(69_999));
+            Assertions.assertEquals(7, store.getVisits(69_999));
+            Assertions.assertEquals(-1L, store.getMove(69_999));
+            Assertions.assertEquals(3, store.getParent(69_999));
+            Assertions.assertEquals(70_000, store.getFirstChild(69_999));
+            Assertions.assertEquals(4, store.getChildCount(69_999));
+            Assertions.assertEquals(OffHeapNodeStore.NONE, store.getParent(0));
+            Assertions.assertEquals(OffHeapNodeStore.NONE, store.allocate(30_001));
+
+            store.clear();
+            Assertions.assertEquals(0, store.allocate(1));
+            Assertions.assertEquals(0, store.getVisits(0));
+        }
+    }
+
+    @Test
+    public void testSteadyStateAllocatesNothing() throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        try (OffHeapNodeStore store = new OffHeapNodeStore(1 << 16)) {
+            OffHeapDraughtsSearcher searcher = new OffHeapDraughtsSearcher(new GameState(), Math.sqrt(2.0), store);
+            // Warm up so that the store's only chunk and JIT compilation are out of the way.
+            for (int i = 0; i < 2000; i++) {
+                searcher.searchOnce();
+            }
+
+            final int iterations = 5000;
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < iterations; i++) {
+                searcher.searchOnce();
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            // Allow a little slack for the JVM's own bookkeeping.
+            Assertions.assertTrue(allocated / iterations < 8, allocated + " bytes allocated");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+public class PdnTests {
+
+    private static final String GAMES =
+            "[Event \"Test\"]\n"
+            + "[Result \"0-1\"]\n"
+            + "\n"
+            + "1. 11-15 22-18 {a comment} 2. 15x22 (2. 9-14 18x9) 25x18 3. 8-11 29-25 0-1\n"
+            + "\n"
+            + "[FEN \"W:W27,19,18,11,7,6,5:B28,26,25,20,17,10,9,4,3,2.\"]\n"
+            + "1... 19-15! 10x19 *\n"
+            + "\n"
+            + "1. 9-13 $1 22-18\n";
+
+    @Test
+    public void testPdnReader() throws IOException {
+        PdnReader reader = new PdnReader(new StringReader(GAMES));
+
+        PdnGame game = reader.readGame();
+        Assertions.assertEquals("Test", game.getTags().get("Event"));
+        Assertions.assertEquals(Arrays.asList("11-15", "22-18", "15x22", "25x18", "8-11", "29-25"), game.getMoves());
+        Assertions.assertEquals("a comment", game.getComments().get(1));
+        Assertions.assertEquals("0-1", game.getResult());
+
+        game = reader.readGame();
+        Assertions.assertEquals("W", game.getInitialState().getActivePlayer());
+        Assertions.assertEquals(Arrays.asList("19-15", "10x19"), game.getMoves());
+        Assertions.assertEquals("*", game.getResult());
+
+        game = reader.readGame();
+        Assertions.assertEquals(Arrays.asList("9-13", "22-18"), game.getMoves());
+
+        Assertions.assertNull(reader.readGame());
+    }
+
+    @Test
+    public void testPdnRoundTrip() throws IOException {
+        PdnGame game = new PdnReader(new StringReader(GAMES)).readGame();
+        StringWriter out = new StringWriter();
+        new PdnWriter(out).writeGame(game);
+        PdnGame reread = new PdnReader(new StringReader(out.toString())).readGame();
+        Assertions.assertEquals(game.getTags(), reread.getTags());
+        Assertions.assertEquals(game.getMoves(), reread.getMoves());
+        Assertions.assertEquals(game.getComments(), reread.getComments());
+        Assertions.assertEquals(game.getResult(), reread.getResult());
+    }
+
+    @Test
+    public void testParseMove() {
+        GameState gs = new GameState();
+        Assertions.assertEquals(new Move(11, Offset.MOVE_SOUTHWEST), gs.parseMove("11-15"));
+        Assertions.assertEquals("11-15", gs.parseMove("11-15").toNotation());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> gs.parseMove("11-18"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> gs.parseMove("eleven"));
+
+        GameState multiJump = new GameState("W:WK5:B9,10,11,17,18,19,25,26,27,28");
+        Move bigOne = new Move(5, Offset.JUMP_SOUTHEAST, Offset.JUMP_NORTHEAST, Offset.JUMP_SOUTHEAST,
+                Offset.JUMP_SOUTHWEST, Offset.JUMP_NORTHWEST, Offset.JUMP_SOUTHWEST,
+                Offset.JUMP_SOUTHEAST, Offset.JUMP_NORTHEAST, Offset.JUMP_SOUTHEAST);
+        Assertions.assertEquals(bigOne, multiJump.parseMove(bigOne.toNotation()));
+    }
+
+    @Test
+    public void testAnnotate() throws IOException {
+        PdnAnnotator annotator = new PdnAnnotator(20, 2, Math.sqrt(2.0), PdnAnnotator.OutputFormat.COMPACT);
+        StringWriter out = new StringWriter();
+        PdnAnnotator.Summary summary = annotator.annotate(new StringReader(GAMES), out);
+        Assertions.assertEquals(3, summary.getGames());
+        Assertions.assertEquals(10, summary.getPositions());
+        Assertions.assertEquals(10, out.toString().split("\n").length);
+        Assertions.assertTrue(out.toString().startsWith("0\t0\t" + new GameState() + "\t11-15\t"));
+    }
+
+    @Test
+    public void testAnnotateInvalidFen() throws IOException {
+        String games = "[FEN \"X:bad\"]\n1. 11-15 *\n\n1. 11-15 22-18 *\n";
+        PdnAnnotator annotator = new PdnAnnotator(20, 1, Math.sqrt(2.0), PdnAnnotator.OutputFormat.PDN);
+        StringWriter out = new StringWriter();
+        PdnAnnotator.Summary summary = annotator.annotate(new StringReader(games), out);
+        Assertions.assertEquals(2, summary.getGames());
+        Assertions.assertEquals(2, summary.getPositions());
+
+        // The invalid game is written without its FEN and the next one is still annotated.
+        PdnReader reader = new PdnReader(new StringReader(out.toString()));
+        PdnGame skipped = reader.readGame();
+        Assertions.assertEquals("Invalid FEN", skipped.getTags().get("Annotator"));
+        Assertions.assertFalse(skipped.getTags().containsKey("FEN"));
+        Assertions.assertEquals(Arrays.asList("11-15", "22-18"), reader.readGame().getMoves());
+    }
+
+}
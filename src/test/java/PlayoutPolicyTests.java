@@ -0,0 +1,86 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class PlayoutPolicyTests {
+
+    @Test
+    public void testPoliciesChooseLegalMoves() {
+        Random random = new Random(1);
+        for (PlayoutPolicy policy : Arrays.asList(new UniformRandomPolicy(), new CapturePromotionPolicy(),
+                new PatternWeightedPolicy())) {
+            GameState gs = new GameState();
+            for (int ply = 0; ply < 200; ply++) {
+                List<Move> legalMoves = gs.generateLegalMoves();
+                if (legalMoves.isEmpty()) { break; }
+                Move move = policy.chooseMove(gs, legalMoves, random);
+                Assertions.assertTrue(legalMoves.contains(move), policy + " chose an illegal move");
+                gs.makeMove(move);
+                gs.swapActivePlayer();
+            }
+        }
+    }
+
+    @Test
+    public void testCapturePromotionPolicy() {
+        Random random = new Random(1);
+        PlayoutPolicy policy = new CapturePromotionPolicy();
+
+        // The king's longest capture takes every piece.
+        GameState gs = new GameState("W:WK5:B9,10,11,17,18,19,25,26,27,28");
+        int longest = 0;
+        for (Move move : gs.generateLegalMoves()) {
+            longest = Math.max(longest, move.getOffsets().size());
+        }
+        Assertions.assertEquals(longest, policy.chooseMove(gs, gs.generateLegalMoves(), random).getOffsets().size());
+
+        // The man on 5 can promote; the man on 30 can't.
+        gs = new GameState("W:W5,30:B32");
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(5, policy.chooseMove(gs, gs.generateLegalMoves(), random).getStart());
+        }
+    }
+
+    @Test
+    public void testBenchmark() {
+        List<GameState> positions = Collections.singletonList(new GameState("W:W14,15:B10,32"));
+        PlayoutPolicyBenchmark benchmark = new PlayoutPolicyBenchmark(positions, new double[]{1.0});
+        PlayoutPolicyBenchmark.Result result = benchmark.measure(new UniformRandomPolicy(), 10, new Random(1));
+        Assertions.assertEquals(10, result.getPlayouts());
+        Assertions.assertEquals(10, result.getPlies());
+        Assertions.assertEquals(0.0, result.getRootMeanSquaredError());
+
+        // A few endgames proven by alpha-beta serve as a policy-neutral reference.
+        benchmark = PlayoutPolicyBenchmark.solvedEndgames(3, 6, new AlphaBetaSolver(12, 16), new Random(1));
+        Assertions.assertTrue(benchmark.getPositionCount() > 0);
+        result = benchmark.measure(new UniformRandomPolicy(), 10, new Random(1));
+        Assertions.assertEquals(10L * benchmark.getPositionCount(), result.getPlayouts());
+    }
+
+    @Test
+    public void testReferenceWinRatesOfSolvedPositions() {
+        // White wins by capturing 10, and black wins the mirrored position.
+        List<GameState> positions = Arrays.asList(new GameState("W:W14,15:B10,32"),
+                new GameState("B:W1,23:B18,19"));
+        double[] winRates = PlayoutPolicyBenchmark.referenceWinRates(positions, 1000, Math.sqrt(2.0));
+        Assertions.assertEquals(1.0, winRates[0]);
+        Assertions.assertEquals(1.0, winRates[1]);
+    }
+
+    @Test
+    public void testSearcherPlayoutCost() {
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(new GameState(), Math.sqrt(2.0));
+        searcher.setPlayoutPolicy(new CapturePromotionPolicy());
+        for (int i = 0; i < 50; i++) {
+            searcher.searchOnce();
+        }
+        Assertions.assertEquals(50, searcher.getPlayouts());
+        Assertions.assertTrue(searcher.getPlayoutPlies() > 50);
+        Assertions.assertTrue(searcher.getPlayoutNanos() > 0);
+    }
+
+}
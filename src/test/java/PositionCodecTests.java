@@ -0,0 +1,106 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PositionCodecTests {
+
+    @ParameterizedTest
+    @ValueSource(strings={
+            "B:WK10,K15,18,24,27,28:B12,16,20,K22,K25,K29",
+            "W:W5,6,7,11,18,19,27:B2,3,4,9,10,17,20,25,26,28",
+            "B:W21,22,23,24,25,26,27,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,11,12",
+            "W:WK32:BK1",
+            "B:W:B"
+    })
+    public void testPositionRoundTrip(String FEN) {
+        GameState gs = new GameState(FEN);
+        ByteBuffer buffer = ByteBuffer.allocate(PositionCodec.POSITION_BYTES);
+        PositionCodec.writePosition(buffer, gs);
+        Assertions.assertFalse(buffer.hasRemaining());
+        buffer.flip();
+        Assertions.assertEquals(gs, PositionCodec.readPosition(buffer));
+        Assertions.assertEquals(gs, PositionCodec.readPosition(buffer, 0));
+        Assertions.assertEquals(gs, new GameState(gs.getWhitePieces(), gs.getBlackPieces(), gs.getKings(),
+                gs.getActivePlayer()));
+    }
+
+    @Test
+    public void testMoveRoundTrip() {
+        List<Move> moves = new ArrayList<>(Arrays.asList(
+                new Move(1, Offset.MOVE_SOUTHEAST),
+                new Move(32, Offset.JUMP_NORTHWEST),
+                new Move(5, Offset.JUMP_SOUTHEAST, Offset.JUMP_NORTHEAST, Offset.JUMP_SOUTHEAST,
+                        Offset.JUMP_SOUTHWEST, Offset.JUMP_NORTHWEST, Offset.JUMP_SOUTHWEST,
+                        Offset.JUMP_SOUTHEAST, Offset.JUMP_NORTHEAST, Offset.JUMP_SOUTHEAST)
+        ));
+        for (Move move : moves) {
+            Assertions.assertEquals(move, PositionCodec.decodeMove(PositionCodec.encodeMove(move)));
+        }
+        Assertions.assertNull(PositionCodec.decodeMove(PositionCodec.encodeMove(null)));
+    }
+
+    @Test
+    public void testInvalidPosition() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameState(1, 1, 0, "W"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameState(1, 2, 4, "W"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameState(1, 2, 0, "C"));
+    }
+
+    @Test
+    public void testRecordFiles(@TempDir Path dir) throws IOException {
+        // Enough records to span several buffer refills.
+        List<GameState> positions = new ArrayList<>();
+        GameState gs = new GameState();
+        for (int i = 0; i < 10000; i++) {
+            List<Move> moves = gs.generateLegalMoves();
+            if (moves.isEmpty()) {
+                gs = new GameState();
+                moves = gs.generateLegalMoves();
+            }
+            positions.add(new GameState(gs));
+            gs.makeMove(moves.get(i % moves.size()));
+            gs.swapActivePlayer();
+        }
+
+        Path positionFile = dir.resolve("positions.bin");
+        try (BinaryRecordWriter writer = BinaryRecordWriter.open(positionFile)) {
+            for (GameState position : positions) {
+                writer.writePosition(position);
+            }
+        }
+        try (BinaryRecordReader reader = BinaryRecordReader.open(positionFile)) {
+            for (GameState position : positions) {
+                Assertions.assertEquals(position, reader.readPosition());
+            }
+            Assertions.assertNull(reader.readPosition());
+        }
+        MappedByteBuffer mapped = BinaryRecordReader.map(positionFile);
+        Assertions.assertEquals(positions.size() * PositionCodec.POSITION_BYTES, mapped.capacity());
+        Assertions.assertEquals(positions.get(1234), BinaryRecordReader.positionAt(mapped, 1234));
+
+        Path resultFile = dir.resolve("results.bin");
+        AnalysisResult result = new AnalysisResult(new GameState(), new Move(11, Offset.MOVE_SOUTHWEST), 100, 55.5);
+        try (BinaryRecordWriter writer = BinaryRecordWriter.open(resultFile)) {
+            writer.writeResult(result);
+        }
+        try (BinaryRecordReader reader = BinaryRecordReader.open(resultFile)) {
+            AnalysisResult read = reader.readResult();
+            Assertions.assertEquals(result.getGameState(), read.getGameState());
+            Assertions.assertEquals(result.getBestMove(), read.getBestMove());
+            Assertions.assertEquals(100, read.getVisits());
+            Assertions.assertEquals(55.5, read.getValue());
+            Assertions.assertNull(reader.readResult());
+        }
+    }
+
+}
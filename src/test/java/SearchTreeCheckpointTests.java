@@ -0,0 +1,127 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+public class SearchTreeCheckpointTests {
+
+    @Test
+    public void testSaveAndLoad(@TempDir Path dir) throws IOException {
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(new GameState(), Math.sqrt(2.0));
+        searcher.setRaveEnabled(true);
+        searcher.setStaticEvaluator(new StaticEvaluator(), 5, 0.5);
+        for (int i = 0; i < 500; i++) {
+            searcher.searchOnce();
+        }
+
+        Path file = dir.resolve("tree.bin");
+        long written = SearchTreeCheckpoint.save(searcher, file, 0);
+        Assertions.assertEquals(countNodes(searcher.getRoot()), written);
+
+        MCTSDraughtsSearcher loaded = SearchTreeCheckpoint.load(file, Math.sqrt(2.0));
+        assertTreesEqual(searcher.getRoot(), loaded.getRoot());
+        Assertions.assertEquals(searcher.getBestMoves(), loaded.getBestMoves());
+
+        // The loaded tree can be searched further.
+        for (int i = 0; i < 100; i++) {
+            loaded.searchOnce();
+        }
+        Assertions.assertEquals(600, loaded.getRoot().getVisits());
+    }
+
+    @Test
+    public void testPruning(@TempDir Path dir) throws IOException {
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(new GameState(), Math.sqrt(2.0));
+        for (int i = 0; i < 500; i++) {
+            searcher.searchOnce();
+        }
+
+        Path file = dir.resolve("tree.bin");
+        long written = SearchTreeCheckpoint.save(searcher, file, 20);
+        Assertions.assertTrue(written < countNodes(searcher.getRoot()));
+
+        MCTSDraughtsSearcher loaded = SearchTreeCheckpoint.load(file, Math.sqrt(2.0));
+        Assertions.assertEquals(written, countNodes(loaded.getRoot()));
+        // Nodes keep all of their children or none, so no move is lost for good.
+        Assertions.assertEquals(searcher.getRoot().getChildren().size(), loaded.getRoot().getChildren().size());
+        Assertions.assertEquals(searcher.getRootStatistics().size(), loaded.getRootStatistics().size());
+        for (int i = 0; i < 100; i++) {
+            loaded.searchOnce();
+        }
+        Assertions.assertEquals(600, loaded.getRoot().getVisits());
+    }
+
+    @Test
+    public void testPruningKeepsProofs() throws IOException {
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(new GameState("W:W14,15:B10,32"), Math.sqrt(2.0));
+        searcher.search(60_000);
+        Assertions.assertTrue(searcher.isSolved());
+
+        // The solved root has too few visits to keep its children, but keeps them anyway.
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SearchTreeCheckpoint.save(searcher.getRoot(), out, 1000);
+        MCTSDraughtsSearcher loaded = new MCTSDraughtsSearcher(
+                SearchTreeCheckpoint.load(new ByteArrayInputStream(out.toByteArray())), Math.sqrt(2.0));
+        Assertions.assertTrue(loaded.isSolved());
+        Assertions.assertEquals(searcher.getBestMoves(), loaded.getBestMoves());
+    }
+
+    @Test
+    public void testCorruptCheckpoints() throws IOException {
+        MCTSDraughtsSearcher searcher = new MCTSDraughtsSearcher(new GameState(), Math.sqrt(2.0));
+        for (int i = 0; i < 50; i++) {
+            searcher.searchOnce();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SearchTreeCheckpoint.save(searcher.getRoot(), out, 0);
+        byte[] saved = out.toByteArray();
+
+        // The active player follows the magic number, version, and three piece masks.
+        int playerOffset = 8 + 12;
+        byte[] badPlayer = saved.clone();
+        badPlayer[playerOffset] = 'X';
+        Assertions.assertThrows(IOException.class,
+                () -> SearchTreeCheckpoint.load(new ByteArrayInputStream(badPlayer)));
+
+        // The root's record is followed by its first child's move.
+        int rootRecordBytes = 8 + 4 + 8 + 4 + 8 + 8 + 4 + 1 + 4;
+        byte[] noMove = saved.clone();
+        ByteBuffer.wrap(noMove).putLong(playerOffset + 1 + rootRecordBytes, PositionCodec.NO_MOVE);
+        Assertions.assertThrows(IOException.class,
+                () -> SearchTreeCheckpoint.load(new ByteArrayInputStream(noMove)));
+
+        Assertions.assertEquals(searcher.getRoot().getChildren().size(),
+                SearchTreeCheckpoint.load(new ByteArrayInputStream(saved)).getChildren().size());
+    }
+
+    private static long countNodes(MCTSNode node) {
+        long count = 1;
+        for (MCTSNode child : node.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    private static void assertTreesEqual(MCTSNode expected, MCTSNode actual) {
+        Assertions.assertEquals(expected.getData(), actual.getData());
+        Assertions.assertEquals(expected.getMove(), actual.getMove());
+        Assertions.assertEquals(expected.getVisits(), actual.getVisits());
+        Assertions.assertEquals(expected.getValue(), actual.getValue());
+        Assertions.assertEquals(expected.getAmafVisits(), actual.getAmafVisits());
+        Assertions.assertEquals(expected.getAmafValue(), actual.getAmafValue());
+        Assertions.assertEquals(expected.getHeuristicValue(), actual.getHeuristicValue());
+        Assertions.assertEquals(expected.getPriorVisits(), actual.getPriorVisits());
+        Assertions.assertEquals(expected.getProofStatus(), actual.getProofStatus());
+        Assertions.assertEquals(expected.getChildren().size(), actual.getChildren().size());
+        for (int i = 0; i < expected.getChildren().size(); i++) {
+            Assertions.assertSame(actual, actual.getChildren().get(i).getParent());
+            assertTreesEqual(expected.getChildren().get(i), actual.getChildren().get(i));
+        }
+    }
+
+}
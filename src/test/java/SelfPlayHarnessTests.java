@@ -0,0 +1,47 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+public class SelfPlayHarnessTests {
+
+    @Test
+    public void testPlay() throws IOException {
+        SelfPlayHarness harness = new SelfPlayHarness(20, 2, Math.sqrt(2.0), 1.0, 300);
+        StringWriter out = new StringWriter();
+        SelfPlayHarness.Summary summary = harness.play(3, out);
+        Assertions.assertEquals(3, summary.getGames());
+        Assertions.assertEquals(3, summary.getWhiteWins() + summary.getBlackWins() + summary.getDraws());
+
+        // Every recorded game should replay legally to its recorded result.
+        PdnReader reader = new PdnReader(new StringReader(out.toString()));
+        int games = 0;
+        PdnGame game;
+        while ((game = reader.readGame()) != null) {
+            games++;
+            GameState gs = game.getInitialState();
+            for (String move : game.getMoves()) {
+                gs.makeMove(gs.parseMove(move));
+                gs.swapActivePlayer();
+            }
+            if (!(game.getResult().equals(SelfPlayHarness.DRAW))) {
+                Assertions.assertTrue(gs.generateLegalMoves().isEmpty());
+                String winner = game.getResult().equals(SelfPlayHarness.WHITE_WINS) ? "W" : "B";
+                Assertions.assertNotEquals(winner, gs.getActivePlayer());
+            }
+        }
+        Assertions.assertEquals(3, games);
+    }
+
+    @Test
+    public void testSeededGamesRepeat() {
+        SelfPlayHarness first = new SelfPlayHarness(30, 1, Math.sqrt(2.0), Math.sqrt(2.0), 40);
+        SelfPlayHarness second = new SelfPlayHarness(30, 4, Math.sqrt(2.0), Math.sqrt(2.0), 40);
+        first.setSeed(7L);
+        second.setSeed(7L);
+        Assertions.assertEquals(first.playGame(3).getMoves(), second.playGame(3).getMoves());
+    }
+
+}